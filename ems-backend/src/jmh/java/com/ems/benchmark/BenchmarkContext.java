@@ -0,0 +1,60 @@
+package com.ems.benchmark;
+
+import com.ems.EmsBackendApplication;
+import com.ems.entity.Employee;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against a private in-memory H2 database and bulk-loads synthetic
+ * employees over JDBC, for benchmarks that need real repository queries.
+ */
+final class BenchmarkContext {
+
+    private static final int INSERT_BATCH = 1000;
+
+    private BenchmarkContext() {}
+
+    static ConfigurableApplicationContext start(String name) {
+        SpringApplication application = new SpringApplication(EmsBackendApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        // Command-line arguments, so they win over application.properties
+        return application.run(
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false");
+    }
+
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        String sql = "INSERT INTO employees (first_name, last_name, email, phone_number, country_code, "
+                + "department, position, salary, hire_date, created_at, updated_at, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < rows; i++) {
+            Employee employee = BenchmarkData.employee(i);
+            Timestamp createdAt = Timestamp.valueOf(employee.getCreatedAt());
+            batch.add(new Object[] {employee.getFirstName(), employee.getLastName(),
+                    "seed" + employee.getEmail(), employee.getPhoneNumber(), employee.getCountryCode(),
+                    employee.getDepartment(), employee.getPosition(), employee.getSalary(),
+                    createdAt, createdAt, createdAt});
+            if (batch.size() == INSERT_BATCH) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(sql, batch);
+        }
+        jdbc.execute("ANALYZE");
+    }
+}
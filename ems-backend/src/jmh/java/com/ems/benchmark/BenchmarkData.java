@@ -0,0 +1,49 @@
+package com.ems.benchmark;
+
+import com.ems.entity.Employee;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic synthetic employees for benchmarks. Streams are generated lazily so a
+ * "cursor" of a million rows never exists in memory at once.
+ */
+final class BenchmarkData {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Mike", "Sarah", "David", "Emily",
+            "Robert", "Lisa", "Carlos", "Yuki", "Wei", "Marco", "Sophie", "Aisha", "Olga", "Ravi"};
+    private static final String[] LAST_NAMES = {"Doe", "Smith", "Johnson", "Wilson", "Brown", "Davis",
+            "Miller", "Taylor", "Rodriguez", "Tanaka", "Zhang", "Rossi", "Martin", "Khan", "Ivanova"};
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Marketing", "Sales",
+            "Operations", "Design"};
+    private static final String[] POSITIONS = {"Software Engineer", "HR Manager", "Financial Analyst",
+            "Marketing Specialist", "System Administrator", "Sales Manager", "UI/UX Designer"};
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+    private BenchmarkData() {}
+
+    static Employee employee(int i) {
+        String firstName = FIRST_NAMES[i % FIRST_NAMES.length];
+        String lastName = LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+        Employee employee = new Employee(firstName, lastName,
+                firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@company.com",
+                "+1" + (2000000000L + i), "+1",
+                DEPARTMENTS[i % DEPARTMENTS.length], POSITIONS[i % POSITIONS.length],
+                40000.0 + (i % 90) * 1000);
+        employee.setId((long) i + 1);
+        employee.setCreatedAt(CREATED_AT);
+        return employee;
+    }
+
+    static Stream<Employee> stream(int rows) {
+        return IntStream.range(0, rows).mapToObj(BenchmarkData::employee);
+    }
+
+    static List<Employee> list(int rows) {
+        return stream(rows).collect(Collectors.toList());
+    }
+}
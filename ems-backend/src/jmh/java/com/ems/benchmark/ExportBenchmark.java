@@ -0,0 +1,111 @@
+package com.ems.benchmark;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.repository.EmployeeRepository;
+import com.ems.service.ExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Buffered (legacy) vs streaming exports. The legacy path gets a fully materialized list, as
+ * {@code findAll} would return; the streaming path gets a lazily generated cursor. Besides
+ * time, each iteration reports the peak old-generation occupancy it reached as the
+ * {@code peakHeapMb} counter: retained data is promoted, short-lived garbage is not.
+ *
+ * <p>The 1M-row legacy Excel case needs several GB of heap and many minutes; run it with
+ * {@code -Djmh.args="ExportBenchmark -p rows=1000000 -jvmArgsAppend -Xmx8g"} when needed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ExportService exportService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long peakHeapMb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.gc();
+            for (MemoryPoolMXBean pool : heapPools()) {
+                pool.resetPeakUsage();
+            }
+            peakHeapMb = 0;
+        }
+
+        void record() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : heapPools()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            peakHeapMb = peak / (1024 * 1024);
+        }
+
+        private static List<MemoryPoolMXBean> heapPools() {
+            return ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .filter(pool -> pool.getName().contains("Old Gen") || pool.getName().contains("Tenured"))
+                    .toList();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.findAll(any(Sort.class))).thenAnswer(invocation -> BenchmarkData.list(rows));
+        when(repository.streamMatching(any())).thenAnswer(invocation -> BenchmarkData.stream(rows));
+
+        exportService = new ExportService();
+        ReflectionTestUtils.setField(exportService, "employeeRepository", repository);
+        ReflectionTestUtils.setField(exportService, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(exportService, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void csvBuffered(HeapCounters heap, Blackhole blackhole) {
+        blackhole.consume(exportService.exportEmployeesToCSV().available());
+        heap.record();
+    }
+
+    @Benchmark
+    public void csvStreaming(HeapCounters heap) {
+        exportService.writeEmployeesToCSV(OutputStream.nullOutputStream(), new EmployeeFilter());
+        heap.record();
+    }
+
+    @Benchmark
+    public void excelBuffered(HeapCounters heap, Blackhole blackhole) {
+        blackhole.consume(exportService.exportEmployeesToExcel().available());
+        heap.record();
+    }
+
+    @Benchmark
+    public void excelStreaming(HeapCounters heap) {
+        exportService.writeEmployeesToExcel(OutputStream.nullOutputStream(), new EmployeeFilter());
+        heap.record();
+    }
+}
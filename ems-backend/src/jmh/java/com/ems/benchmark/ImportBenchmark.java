@@ -0,0 +1,96 @@
+package com.ems.benchmark;
+
+import com.ems.dto.ImportResult;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import com.ems.search.EmployeeSearchIndex;
+import com.ems.service.EmployeeService;
+import com.ems.service.ImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk CSV import vs creating the same employees one at a time the way {@code POST
+ * /api/employees} does (an {@code existsByEmail} check in the controller, another in
+ * {@code saveEmployee}, then a JPA insert). Runs against embedded H2; the table is emptied
+ * before every iteration.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ImportService importService;
+    private EmployeeService employeeService;
+    private EmployeeRepository employeeRepository;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("import");
+        importService = context.getBean(ImportService.class);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+
+        StringBuilder builder = new StringBuilder("ID,First Name,Last Name,Email,Phone,Department,Position,Salary,Created Date\n");
+        for (int i = 0; i < rows; i++) {
+            Employee employee = BenchmarkData.employee(i);
+            builder.append(employee.getId()).append(',')
+                    .append(employee.getFirstName()).append(',')
+                    .append(employee.getLastName()).append(',')
+                    .append(employee.getEmail()).append(',')
+                    .append(employee.getPhoneNumber()).append(',')
+                    .append(employee.getDepartment()).append(',')
+                    .append(employee.getPosition()).append(',')
+                    .append(employee.getSalary()).append(',')
+                    .append("2024-01-15 09:30:00\n");
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTable() {
+        context.getBean(JdbcTemplate.class).execute("DELETE FROM employees");
+        context.getBean(EmployeeSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ImportResult bulkImport() {
+        ImportResult result = importService.importEmployees(new ByteArrayInputStream(csv), "employees.csv");
+        if (result.getImportedRows() != rows) {
+            throw new IllegalStateException("Imported " + result.getImportedRows() + " of " + rows);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long perRowSave() {
+        for (int i = 0; i < rows; i++) {
+            Employee employee = BenchmarkData.employee(i);
+            employee.setId(null);
+            employee.setCreatedAt(null);
+            if (employeeRepository.existsByEmail(employee.getEmail())) {
+                throw new IllegalStateException("Duplicate " + employee.getEmail());
+            }
+            employeeService.saveEmployee(employee);
+        }
+        return employeeRepository.count();
+    }
+}
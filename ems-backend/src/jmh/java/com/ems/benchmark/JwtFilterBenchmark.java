@@ -0,0 +1,128 @@
+package com.ems.benchmark;
+
+import com.ems.security.JwtAuthenticationFilter;
+import com.ems.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link JwtAuthenticationFilter} for a request carrying a valid bearer token.
+ * {@code legacy} replays the previous flow (new key and parser per call, signature verified
+ * twice); {@code singleParse} verifies once with the cache disabled; {@code cached} repeats a
+ * token that is already in the verified-token cache. The filters run in database mode against a
+ * stubbed user lookup so only token handling is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "emssupersecretkey2024emschangeinproduction";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+    private UserDetailsService userDetailsService;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserDetails admin = User.withUsername("admin").password("unused").roles("ADMIN").build();
+        userDetailsService = username -> admin;
+
+        uncachedFilter = filter(jwtUtil(0));
+        JwtUtil cachingJwtUtil = jwtUtil(10_000);
+        cachedFilter = filter(cachingJwtUtil);
+
+        com.ems.entity.User user = new com.ems.entity.User("admin", "unused", "admin@ems.com",
+                com.ems.entity.User.Role.ADMIN);
+        token = cachingJwtUtil.generateToken(user);
+        request = new MockHttpServletRequest("GET", "/api/employees");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication legacy() {
+        String header = request.getHeader("Authorization");
+        String jwt = header.substring(7);
+        String username = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody()
+                .getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(jwt);
+        authenticate(request, userDetails);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Authentication singleParse() throws Exception {
+        uncachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Authentication cached() throws Exception {
+        cachedFilter.doFilter(request, response, NO_OP_CHAIN);
+        return takeAuthentication();
+    }
+
+    // The filter skips requests that are already authenticated, so each call starts from an empty context
+    private static Authentication takeAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private void authenticate(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private JwtAuthenticationFilter filter(JwtUtil jwtUtil) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "authoritiesSource", "database");
+        return filter;
+    }
+
+    private static JwtUtil jwtUtil(long cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
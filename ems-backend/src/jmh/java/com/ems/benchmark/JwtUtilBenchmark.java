@@ -0,0 +1,63 @@
+package com.ems.benchmark;
+
+import com.ems.entity.User;
+import com.ems.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation cost of {@link JwtUtil}: signing a new token, verifying one with
+ * the verified-token cache disabled, and validating one that is already cached.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "emssupersecretkey2024emschangeinproduction";
+
+    private JwtUtil uncachedJwtUtil;
+    private JwtUtil cachedJwtUtil;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncachedJwtUtil = jwtUtil(0);
+        cachedJwtUtil = jwtUtil(10_000);
+        user = new User("admin", "unused", "admin@ems.com", User.Role.ADMIN);
+        token = cachedJwtUtil.generateToken(user);
+        cachedJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return uncachedJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateCachedToken() {
+        return cachedJwtUtil.validateToken(token);
+    }
+
+    private static JwtUtil jwtUtil(long cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
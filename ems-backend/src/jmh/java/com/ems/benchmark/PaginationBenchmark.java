@@ -0,0 +1,69 @@
+package com.ems.benchmark;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.KeysetCursor;
+import com.ems.dto.KeysetPage;
+import com.ems.entity.Employee;
+import com.ems.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset vs keyset pagination of the unfiltered employee list on embedded H2, at increasing
+ * page depth. Offset paging pays for the skipped rows plus a count query; keyset seeks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"200000"})
+    public int rows;
+
+    @Param({"0", "1000", "10000"})
+    public int page;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("pagination");
+        BenchmarkContext.seed(context, rows);
+        employeeService = context.getBean(EmployeeService.class);
+
+        // Cursor pointing at the last row of the previous page, as a client would hold it
+        if (page > 0) {
+            Map<String, Object> last = context.getBean(JdbcTemplate.class).queryForMap(
+                    "SELECT first_name, id FROM employees ORDER BY first_name, id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY",
+                    page * PAGE_SIZE - 1);
+            cursor = new KeysetCursor((String) last.get("FIRST_NAME"), ((Number) last.get("ID")).longValue()).encode();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Employee> offset() {
+        return employeeService.getAllEmployees(page, PAGE_SIZE, new EmployeeFilter());
+    }
+
+    @Benchmark
+    public KeysetPage<Employee> keyset() {
+        return employeeService.getEmployeesAfter(cursor, PAGE_SIZE, new EmployeeFilter());
+    }
+}
@@ -0,0 +1,84 @@
+package com.ems.benchmark;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.SalaryAggregate;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.EmployeeSpecifications;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First-page latency of the {@link EmployeeRepository} list and search queries on embedded H2,
+ * count query included. Complements {@code SearchIndexBenchmark}, which measures the in-memory
+ * index that replaces the text search in index mode. H2 reuses the result of a
+ * parameterless query while the table is unchanged, so the DISTINCT and aggregate numbers are
+ * closer to a cache hit than to a scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@State(Scope.Benchmark)
+public class RepositorySearchBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private final Pageable firstPage = PageRequest.of(0, 10, Sort.by("firstName").ascending());
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("repository-search");
+        BenchmarkContext.seed(context, rows);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Employee> findAll() {
+        return employeeRepository.findAll(firstPage);
+    }
+
+    @Benchmark
+    public Page<Employee> search() {
+        return employeeRepository.findAll(EmployeeSpecifications.matching(
+                new EmployeeFilter("smith", null, null, null, null)), firstPage);
+    }
+
+    @Benchmark
+    public Page<Employee> filteredSearch() {
+        return employeeRepository.findAll(EmployeeSpecifications.matching(
+                new EmployeeFilter("smith", "IT", null, 50000.0, null)), firstPage);
+    }
+
+    @Benchmark
+    public Page<Employee> findByDepartment() {
+        return employeeRepository.findByDepartment("IT", firstPage);
+    }
+
+    @Benchmark
+    public List<String> findDistinctDepartments() {
+        return employeeRepository.findDistinctDepartments();
+    }
+
+    @Benchmark
+    public List<SalaryAggregate> aggregateSalaries() {
+        return employeeRepository.aggregateSalaries();
+    }
+}
@@ -0,0 +1,46 @@
+package com.ems.benchmark;
+
+import com.ems.search.EmployeeSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency of {@link EmployeeSearchIndex} for the first page of the employee list.
+ * SampleTime mode reports the latency distribution, including p0.99, per query.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class SearchIndexBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    // Selective, broad, short (scan fallback) and no-match queries
+    @Param({"rodriguez12345", "smith", "it", "zzz"})
+    public String query;
+
+    private EmployeeSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new EmployeeSearchIndex();
+        BenchmarkData.stream(rows).forEach(index::index);
+    }
+
+    @Benchmark
+    public Page<Long> firstPage() {
+        return index.search(query, null, null, null, null, PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public Page<Long> firstPageWithDepartment() {
+        return index.search(query, "IT", null, null, null, PageRequest.of(0, 10));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ems.benchmark;
+
+import com.ems.entity.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of one page of the employee list, in the response shape of
+ * {@code GET /api/employees} and with the ObjectMapper settings Spring Boot applies.
+ * {@code formattedPhoneNumbers} isolates the computed {@code formattedPhoneNumber} property,
+ * which is evaluated for every employee written.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> content;
+    private Map<String, Object> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        content = BenchmarkData.list(pageSize);
+
+        response = new HashMap<>();
+        response.put("content", content);
+        response.put("currentPage", 0);
+        response.put("totalItems", 1_000_000L);
+        response.put("totalPages", 1_000_000 / pageSize);
+        response.put("pageSize", pageSize);
+        response.put("hasNext", true);
+        response.put("hasPrevious", false);
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int formattedPhoneNumbers() {
+        int length = 0;
+        for (Employee employee : content) {
+            length += employee.getFormattedPhoneNumber().length();
+        }
+        return length;
+    }
+}
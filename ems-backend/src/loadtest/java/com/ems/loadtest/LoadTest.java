@@ -0,0 +1,340 @@
+package com.ems.loadtest;
+
+import com.ems.EmsBackendApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drives the REST API with a weighted mix of requests from {@code concurrency} threads and
+ * reports throughput and latency percentiles per scenario. Without {@code --url} it boots the
+ * application on an in-memory H2 database, seeded through the {@code seed} profile.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--employees=100000 --concurrency=16 --duration=60"
+ * </pre>
+ *
+ * Options: {@code --url}, {@code --employees}, {@code --concurrency}, {@code --duration} and
+ * {@code --warmup} and {@code --timeout} (seconds), {@code --mix} (e.g. {@code list=40,search=20,export=0}),
+ * {@code --username}/{@code --password} and {@code --output} (JSON report). Any
+ * {@code --spring.*}, {@code --ems.*} or {@code --jwt.*} option is passed to the embedded app.
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "login=5,list=40,search=20,advanced=15,stats=15,export=5";
+    private static final String[] SEARCH_TERMS = {"smith", "sharma", "wang", "maria", "engineer", "sales", "müller", "li"};
+    private static final String[] DEPARTMENTS = {"IT", "Sales", "Operations", "Finance", "Marketing", "HR", "Design"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Map<String, String> options;
+    private String baseUrl;
+    private String token;
+    private Duration requestTimeout;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext context = null;
+        if (options.containsKey("url")) {
+            baseUrl = options.get("url");
+        } else {
+            context = startApplication();
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            // Requests still unanswered after this count as errors, so overloaded runs still end
+            requestTimeout = Duration.ofSeconds(Long.parseLong(option("timeout", "60")));
+            token = login();
+            Map<String, Integer> mix = parseMix(option("mix", DEFAULT_MIX));
+            int concurrency = Integer.parseInt(option("concurrency", "8"));
+            long warmupNanos = Duration.ofSeconds(Long.parseLong(option("warmup", "10"))).toNanos();
+            long durationNanos = Duration.ofSeconds(Long.parseLong(option("duration", "30"))).toNanos();
+
+            System.out.printf("Load test against %s: %d threads, %ds warmup, %ds measured, mix %s%n",
+                    baseUrl, concurrency, warmupNanos / 1_000_000_000, durationNanos / 1_000_000_000, mix);
+
+            long measureFrom = System.nanoTime() + warmupNanos;
+            long measureUntil = measureFrom + durationNanos;
+            ExecutorService workers = workerPool(concurrency);
+            List<Future<Map<String, Samples>>> results = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                results.add(workers.submit(() -> work(mix, measureFrom, measureUntil)));
+            }
+            Map<String, Samples> samples = new LinkedHashMap<>();
+            mix.keySet().forEach(scenario -> samples.put(scenario, new Samples()));
+            // Clients stuck past the last request timeout are abandoned rather than hanging the run
+            long deadline = measureUntil + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+            int abandoned = 0;
+            for (Future<Map<String, Samples>> result : results) {
+                try {
+                    result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                            .forEach((scenario, workerSamples) -> samples.get(scenario).addAll(workerSamples));
+                } catch (TimeoutException e) {
+                    result.cancel(true);
+                    abandoned++;
+                }
+            }
+            workers.shutdownNow();
+            if (abandoned > 0) {
+                System.out.printf("%d of %d clients did not finish in time, their samples are not included%n",
+                        abandoned, concurrency);
+            }
+
+            report(samples, durationNanos / 1e9);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    // One virtual thread per simulated client on Java 21+, so thousands of clients stay cheap
+    private static ExecutorService workerPool(int concurrency) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    private ConfigurableApplicationContext startApplication() {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--spring.profiles.active=seed",
+                "--ems.seed.employees=" + option("employees", "100000"),
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        options.forEach((name, value) -> {
+            if (name.startsWith("spring.") || name.startsWith("ems.") || name.startsWith("jwt.")) {
+                args.add("--" + name + "=" + value);
+            }
+        });
+        return SpringApplication.run(EmsBackendApplication.class, args.toArray(new String[0]));
+    }
+
+    private Map<String, Samples> work(Map<String, Integer> mix, long measureFrom, long measureUntil) {
+        Map<String, Samples> samples = new HashMap<>();
+        mix.keySet().forEach(scenario -> samples.put(scenario, new Samples()));
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        long now;
+        while ((now = System.nanoTime()) < measureUntil) {
+            String scenario = pick(mix, totalWeight);
+            boolean ok;
+            try {
+                ok = execute(scenario);
+            } catch (Exception e) {
+                ok = false;
+            }
+            long end = System.nanoTime();
+            if (now >= measureFrom && end <= measureUntil) {
+                samples.get(scenario).add(end - now, ok);
+            }
+        }
+        return samples;
+    }
+
+    private boolean execute(String scenario) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (scenario) {
+            case "login":
+                return login() != null;
+            case "list":
+                return get("/api/employees?page=" + random.nextInt(100) + "&size=20");
+            case "search":
+                return get("/api/employees?size=20&search=" + encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]));
+            case "advanced":
+                return get("/api/employees?size=20&search=" + encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)])
+                        + "&department=" + DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]
+                        + "&minSalary=50000&maxSalary=150000");
+            case "stats":
+                return get("/api/employees/stats/summary");
+            case "export":
+                return get("/api/export/employees/csv/stream");
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private boolean get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        // Bodies are read fully (as a client would) and discarded
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode() < 400;
+    }
+
+    private String login() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "username", option("username", "admin"),
+                "password", option("password", "admin123")));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(requestTimeout)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode json = objectMapper.readTree(response.body());
+        return json.get("token").asText();
+    }
+
+    private void report(Map<String, Samples> samples, double seconds) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Samples total = new Samples();
+        samples.forEach((scenario, scenarioSamples) -> {
+            if (scenarioSamples.count() > 0) {
+                rows.add(scenarioSamples.summary(scenario, seconds));
+                total.addAll(scenarioSamples);
+            }
+        });
+        rows.add(total.summary("total", seconds));
+
+        System.out.printf("%n%-10s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        for (Map<String, Object> row : rows) {
+            System.out.printf("%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    row.get("scenario"), row.get("requests"), row.get("errors"), row.get("throughput"),
+                    row.get("p50Ms"), row.get("p90Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs"));
+        }
+
+        File output = new File(option("output", "target/loadtest-result.json"));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("options", options);
+        result.put("durationSeconds", seconds);
+        result.put("scenarios", rows);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, result);
+        System.out.println("\nResults written to " + output.getAbsolutePath());
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no scenario with a positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    private static String pick(Map<String, Integer> mix, int totalWeight) {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /** Latencies of one scenario in nanoseconds, appended by a single worker thread. */
+    private static class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long latency, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        int count() {
+            return count;
+        }
+
+        Map<String, Object> summary(String scenario, double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("scenario", scenario);
+            summary.put("requests", count);
+            summary.put("errors", errors);
+            summary.put("throughput", count / seconds);
+            summary.put("p50Ms", percentile(sorted, 50));
+            summary.put("p90Ms", percentile(sorted, 90));
+            summary.put("p95Ms", percentile(sorted, 95));
+            summary.put("p99Ms", percentile(sorted, 99));
+            summary.put("maxMs", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+            return summary;
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.ems.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of API requests in flight at {@code ems.admission.max-concurrent}, which
+ * defaults to the connection pool size. With virtual threads there is no worker pool to bound
+ * concurrency, so without this every waiting request would queue inside Hikari and time out
+ * there. Requests wait (fairly) for a permit up to {@code ems.admission.wait-timeout-ms} and
+ * are then rejected with 503. Streaming responses keep their permit until the async work ends.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ems.admission.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ems.admission.max-concurrent:10}")
+    private int maxConcurrent;
+
+    @Value("${ems.admission.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    private Semaphore permits;
+    private Timer waitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrent, true);
+        if (enabled) {
+            waitTimer = Timer.builder("ems.admission.wait")
+                    .description("Time API requests waited for an admission permit")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            rejected = meterRegistry.counter("ems.admission.rejected");
+            Gauge.builder("ems.admission.in-flight", permits, semaphore -> maxConcurrent - semaphore.availablePermits())
+                    .register(meterRegistry);
+            Gauge.builder("ems.admission.waiting", permits, Semaphore::getQueueLength)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+
+        boolean releaseLater = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+                releaseLater = true;
+            }
+        } finally {
+            if (!releaseLater) {
+                permits.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Server is busy, please retry");
+        errorResponse.put("timestamp", System.currentTimeMillis());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private class ReleaseOnCompletion implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
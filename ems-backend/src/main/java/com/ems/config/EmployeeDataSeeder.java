@@ -0,0 +1,116 @@
+package com.ems.config;
+
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeBatchWriter;
+import com.ems.repository.EmployeeRepository;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fills an empty employees table with {@code ems.seed.employees} synthetic employees when the
+ * {@code seed} profile is active. Runs before {@link DataInitializer}, which then leaves its
+ * sample employees out. Batches go through {@link EmployeeBatchWriter}; the next batch is
+ * generated while the current one is written. With {@code ems.seed.defer-indexes} the secondary
+ * indexes declared on {@link Employee} are dropped for the load and rebuilt once at the end,
+ * which is cheaper than maintaining them row by row.
+ */
+@Component
+@Profile("seed")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmployeeDataSeeder implements CommandLineRunner {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeBatchWriter batchWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${ems.seed.employees:100000}")
+    private int employees;
+
+    @Value("${ems.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${ems.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${ems.seed.defer-indexes:true}")
+    private boolean deferIndexes;
+
+    @Override
+    public void run(String... args) {
+        if (employeeRepository.count() > 0) {
+            System.out.println("Employees table is not empty, skipping seed data");
+            return;
+        }
+
+        long start = System.nanoTime();
+        Index[] indexes = deferIndexes ? Employee.class.getAnnotation(Table.class).indexes() : new Index[0];
+        for (Index index : indexes) {
+            dropIndex(index.name());
+        }
+        try {
+            insert();
+        } finally {
+            for (Index index : indexes) {
+                jdbcTemplate.execute("CREATE INDEX " + index.name() + " ON employees (" + columns(index) + ")");
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Seeded " + employees + " employees in " + millis + " ms ("
+                + (employees * 1000L / Math.max(1, millis)) + " rows/s)");
+    }
+
+    private void insert() {
+        SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator(randomSeed);
+        CompletableFuture<List<Employee>> next = generate(generator, 0);
+        int reported = 0;
+        for (int offset = 0; offset < employees; offset += batchSize) {
+            List<Employee> batch = next.join();
+            if (offset + batchSize < employees) {
+                next = generate(generator, offset + batchSize);
+            }
+            batchWriter.insertAll(batch);
+
+            int written = offset + batch.size();
+            if (written * 10L / employees > reported) {
+                reported = (int) (written * 10L / employees);
+                System.out.println("Seeded " + written + " of " + employees + " employees");
+            }
+        }
+    }
+
+    private void dropIndex(String name) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        jdbcTemplate.execute("MySQL".equalsIgnoreCase(database)
+                ? "DROP INDEX " + name + " ON employees"
+                : "DROP INDEX " + name);
+    }
+
+    // Property names to the snake_case columns Spring Boot's naming strategy maps them to
+    private static String columns(Index index) {
+        return index.columnList().replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    private CompletableFuture<List<Employee>> generate(SyntheticEmployeeGenerator generator, int offset) {
+        int count = Math.min(batchSize, employees - offset);
+        return CompletableFuture.supplyAsync(() -> generator.chunk(offset, count));
+    }
+}
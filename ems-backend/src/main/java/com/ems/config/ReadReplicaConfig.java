@@ -0,0 +1,76 @@
+package com.ems.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write split over a primary and one or more read replicas. The primary pool is the usual
+ * {@code spring.datasource.*} / {@code spring.datasource.hikari.*} one; each replica is a Hikari
+ * pool configured under {@code ems.datasource.replicas[n].*} with Hikari's own property names
+ * (jdbc-url, username, password, maximum-pool-size, connection-timeout, keepalive-time, ...), so
+ * it is sized and health-checked on its own. {@code @Transactional(readOnly = true)} work is
+ * routed to the replicas, see {@link ReadWriteRoutingDataSource}. Replicas only serve reads;
+ * the schema is created and updated on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ems.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${ems.datasource.routing.sticky-seconds:5}")
+    private long stickySeconds;
+
+    @Value("${ems.datasource.routing.replica-retry-seconds:30}")
+    private long replicaRetrySeconds;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource, Environment environment,
+                                                        MeterRegistry meterRegistry) {
+        List<HikariConfig> configs = Binder.get(environment)
+                .bind("ems.datasource.replicas", Bindable.listOf(HikariConfig.class))
+                .orElseThrow(() -> new IllegalStateException(
+                        "ems.datasource.routing.enabled needs at least one ems.datasource.replicas[n].jdbc-url"));
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < configs.size(); i++) {
+            HikariConfig config = configs.get(i);
+            config.setPoolName(ReadWriteRoutingDataSource.replicaKey(i));
+            config.setReadOnly(true);
+            // A replica that is down must not keep the application from starting
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(meterRegistry);
+            replicas.add(new HikariDataSource(config));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, stickySeconds, replicaRetrySeconds);
+    }
+
+    // What JPA, JdbcTemplate and the transaction manager use: the target is only chosen once a
+    // statement runs, when the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
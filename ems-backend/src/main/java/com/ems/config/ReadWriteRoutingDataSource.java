@@ -0,0 +1,162 @@
+package com.ems.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the replicas (round robin) and everything else to the
+ * primary. Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction manager
+ * asks for its connection before the read-only flag is published, the proxy defers the lookup
+ * to the first statement.
+ * <p>
+ * A user whose write committed in the last {@code stickySeconds} reads from the primary too, so
+ * they see their own change before the replicas have applied it. A replica that fails to hand
+ * out a connection is skipped for {@code retryAfterSeconds}; with no replica available reads go
+ * to the primary. Work that fills a cache keyed by the {@code DatasetVersion} reads from the
+ * primary as well, see {@link #readFromPrimary}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long retryAfterMillis;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    // Per replica: when it may be tried again after a failure (0 = available)
+    private final AtomicLongArray downUntil;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                      long stickySeconds, long retryAfterSeconds) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.retryAfterMillis = Duration.ofSeconds(retryAfterSeconds).toMillis();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(stickySeconds))
+                .maximumSize(100_000)
+                .build();
+        this.downUntil = new AtomicLongArray(replicas.size());
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(replicaKey(i), replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(user, Boolean.TRUE);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (primaryReads.get() != null || (user != null && recentWriters.getIfPresent(user) != null)) {
+            return PRIMARY;
+        }
+        long now = System.currentTimeMillis();
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            int replica = Math.floorMod(next.getAndIncrement(), replicas.size());
+            if (downUntil.get(replica) <= now) {
+                return replicaKey(replica);
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Runs {@code work} with its read-only transactions on the primary. For results cached under
+     * the current {@code DatasetVersion}: the version moves on as soon as a write commits on the
+     * primary, and rows read from a replica that has not applied the write yet would stay cached
+     * under the new version until the next write. The transactions must start inside
+     * {@code work}; one already running keeps its connection.
+     */
+    public static <T> T readFromPrimary(Supplier<T> work) {
+        if (primaryReads.get() != null) {
+            return work.get();
+        }
+        primaryReads.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            primaryReads.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        int replica = replicaIndex(key);
+        try {
+            return replicas.get(replica).getConnection();
+        } catch (SQLException e) {
+            downUntil.set(replica, System.currentTimeMillis() + retryAfterMillis);
+            System.err.println("Read replica " + (replica + 1) + " unavailable, reading from the primary for "
+                    + retryAfterMillis / 1000 + "s: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource replica : replicas) {
+            if (replica instanceof Closeable) {
+                ((Closeable) replica).close();
+            }
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+
+    static String replicaKey(int index) {
+        return "replica-" + (index + 1);
+    }
+
+    private static int replicaIndex(Object key) {
+        return Integer.parseInt(((String) key).substring("replica-".length())) - 1;
+    }
+}
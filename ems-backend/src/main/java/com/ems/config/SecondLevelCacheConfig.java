@@ -0,0 +1,83 @@
+package com.ems.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for {@code Employee} and {@code User}, in local Caffeine caches
+ * behind JCache. Entity and natural-id regions are created here with the size and TTL limits
+ * from {@code ems.l2-cache.*}; Hibernate fails at startup on a region that is not configured
+ * rather than creating an unbounded one. Hit, miss and put counts per region are published by
+ * Hibernate's statistics (hibernate.second.level.cache.*) and the cache sizes and evictions as
+ * cache.* meters. Every node has its own cache: writes made through another node are seen here
+ * once the entries expire.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ems.l2-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    @Value("${ems.l2-cache.employees.max-size:10000}")
+    private long employeesMaxSize;
+
+    @Value("${ems.l2-cache.employees.ttl-seconds:600}")
+    private long employeesTtlSeconds;
+
+    @Value("${ems.l2-cache.users.max-size:1000}")
+    private long usersMaxSize;
+
+    @Value("${ems.l2-cache.users.ttl-seconds:300}")
+    private long usersTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        // Natural-id regions hold one small entry per cached entity, so they share its limits
+        createRegion(cacheManager, "employees", employeesMaxSize, employeesTtlSeconds);
+        createRegion(cacheManager, "employees-by-email", employeesMaxSize, employeesTtlSeconds);
+        createRegion(cacheManager, "users", usersMaxSize, usersTtlSeconds);
+        createRegion(cacheManager, "users-by-username", usersMaxSize, usersTtlSeconds);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> {
+            for (String region : secondLevelCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(region), List.of());
+            }
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+        // Hibernate stores its own immutable cache entries; copying them on every access buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,248 @@
+package com.ems.config;
+
+import com.ems.entity.Employee;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, realistically skewed employees for the seed profile. Each chunk draws from its
+ * own random stream derived from the seed and the chunk offset, so chunks can be generated in
+ * any order (or concurrently) and a given seed always produces the same data.
+ */
+class SyntheticEmployeeGenerator {
+
+    // Emails embed the row number, which keeps them unique at any size
+    private static final String EMAIL_DOMAIN = "company.com";
+    private static final int HIRE_WINDOW_DAYS = 15 * 365;
+
+    private static final Weighted<Country> COUNTRIES = new Weighted<>(
+            new Country("+1", 1.00, 40, new String[]{"James", "Mary", "Michael", "Jennifer", "John", "Linda", "David", "Sarah", "Chris", "Ashley", "Daniel", "Emily"},
+                    new String[]{"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Wilson", "Anderson", "Taylor", "Moore"}),
+            new Country("+91", 0.35, 15, new String[]{"Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha", "Arjun", "Divya", "Rohan", "Kavya"},
+                    new String[]{"Sharma", "Patel", "Singh", "Kumar", "Gupta", "Reddy", "Iyer", "Nair", "Das", "Mehta"}),
+            new Country("+44", 0.85, 10, new String[]{"Oliver", "Amelia", "George", "Isla", "Harry", "Ava", "Jack", "Sophie", "Thomas", "Grace"},
+                    new String[]{"Smith", "Jones", "Taylor", "Evans", "Wilson", "Roberts", "Walker", "Wright", "Hughes", "Clarke"}),
+            new Country("+49", 0.90, 8, new String[]{"Lukas", "Anna", "Leon", "Lena", "Felix", "Marie", "Jonas", "Laura", "Paul", "Julia"},
+                    new String[]{"Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Hoffmann", "Koch"}),
+            new Country("+86", 0.50, 7, new String[]{"Wei", "Fang", "Lei", "Jing", "Jun", "Min", "Hao", "Yan", "Tao", "Xin"},
+                    new String[]{"Wang", "Li", "Zhang", "Liu", "Chen", "Yang", "Huang", "Zhao", "Wu", "Zhou"}),
+            new Country("+61", 0.90, 5, new String[]{"Jack", "Charlotte", "William", "Olivia", "Noah", "Mia", "Lucas", "Chloe"},
+                    new String[]{"Smith", "Jones", "Williams", "Brown", "Wilson", "Taylor", "Martin", "Kelly"}),
+            new Country("+55", 0.40, 5, new String[]{"Gabriel", "Maria", "Lucas", "Ana", "Pedro", "Julia", "Mateus", "Beatriz"},
+                    new String[]{"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira"}),
+            new Country("+81", 0.80, 4, new String[]{"Haruto", "Yui", "Sota", "Hina", "Yuki", "Aoi", "Ren", "Sakura"},
+                    new String[]{"Sato", "Suzuki", "Takahashi", "Tanaka", "Watanabe", "Ito", "Yamamoto", "Nakamura"}),
+            new Country("+39", 0.70, 3, new String[]{"Francesco", "Giulia", "Alessandro", "Sofia", "Lorenzo", "Chiara", "Marco", "Sara"},
+                    new String[]{"Rossi", "Russo", "Ferrari", "Esposito", "Bianchi", "Romano", "Colombo", "Ricci"}),
+            new Country("+33", 0.80, 2, new String[]{"Louis", "Emma", "Hugo", "Chloé", "Jules", "Léa", "Arthur", "Manon"},
+                    new String[]{"Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand"}),
+            new Country("+34", 0.70, 1, new String[]{"Hugo", "Lucía", "Martín", "María", "Pablo", "Paula", "Daniel", "Carmen"},
+                    new String[]{"García", "Fernández", "González", "Rodríguez", "López", "Martínez", "Sánchez", "Pérez"})
+    );
+
+    // Department sizes and, within each, more juniors than managers
+    private static final Weighted<Department> DEPARTMENTS = new Weighted<>(
+            new Department("IT", 28, new Weighted<>(
+                    new Position("Software Engineer", 95000, 40), new Position("Senior Software Engineer", 125000, 20),
+                    new Position("QA Engineer", 78000, 12), new Position("DevOps Engineer", 110000, 10),
+                    new Position("System Administrator", 72000, 10), new Position("Engineering Manager", 150000, 8))),
+            new Department("Sales", 20, new Weighted<>(
+                    new Position("Sales Representative", 55000, 55), new Position("Account Executive", 75000, 30),
+                    new Position("Sales Manager", 105000, 15))),
+            new Department("Operations", 15, new Weighted<>(
+                    new Position("Operations Associate", 48000, 55), new Position("Operations Analyst", 65000, 30),
+                    new Position("Operations Manager", 95000, 15))),
+            new Department("Finance", 12, new Weighted<>(
+                    new Position("Accountant", 62000, 45), new Position("Financial Analyst", 78000, 40),
+                    new Position("Finance Director", 160000, 15))),
+            new Department("Marketing", 10, new Weighted<>(
+                    new Position("Marketing Coordinator", 52000, 45), new Position("Marketing Specialist", 66000, 40),
+                    new Position("Marketing Manager", 98000, 15))),
+            new Department("HR", 8, new Weighted<>(
+                    new Position("HR Assistant", 45000, 40), new Position("Recruiter", 60000, 40),
+                    new Position("HR Manager", 90000, 20))),
+            new Department("Design", 7, new Weighted<>(
+                    new Position("UI/UX Designer", 72000, 60), new Position("Graphic Designer", 58000, 25),
+                    new Position("Design Lead", 115000, 15)))
+    );
+
+    private final long seed;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    SyntheticEmployeeGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /** Employees {@code offset} to {@code offset + count - 1} of the data set. */
+    List<Employee> chunk(int offset, int count) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + offset);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(offset + i, random));
+        }
+        return employees;
+    }
+
+    private Employee employee(int row, SplittableRandom random) {
+        Country country = COUNTRIES.pick(random);
+        Department department = DEPARTMENTS.pick(random);
+        Position position = department.positions.pick(random);
+
+        int first = skewed(country.firstNames.length, random);
+        int last = skewed(country.lastNames.length, random);
+        String firstName = country.firstNames[first];
+        String lastName = country.lastNames[last];
+        String email = country.emailFirstNames[first] + "." + country.emailLastNames[last] + "." + row + "@" + EMAIL_DOMAIN;
+
+        // Log-normal spread around the position's base, scaled by country and rounded to 500
+        double salary = position.baseSalary * country.salaryFactor * Math.exp(random.nextGaussian() * 0.18);
+        salary = Math.max(500, Math.round(salary / 500) * 500.0);
+
+        Employee employee = new Employee(firstName, lastName, email, phoneNumber(country.code, random),
+                country.code, department.name, position.title, salary);
+        // Squared uniform draw: recent hires are more common than long-tenured staff
+        double tenure = random.nextDouble();
+        employee.setHireDate(now.minusDays((long) (tenure * tenure * HIRE_WINDOW_DAYS)).withNano(0));
+        return employee;
+    }
+
+    // Mobile number formats per country, stored with the country code as the form and import do
+    private static String phoneNumber(String code, SplittableRandom random) {
+        switch (code) {
+            case "+1":
+                return code + (2 + random.nextInt(8)) + digits(9, random);
+            case "+91":
+                return code + (6 + random.nextInt(4)) + digits(9, random);
+            case "+44":
+                return code + "7" + digits(9, random);
+            case "+49":
+                return code + "15" + (1 + random.nextInt(9)) + digits(8, random);
+            case "+86":
+                return code + "1" + (3 + random.nextInt(7)) + digits(9, random);
+            case "+61":
+                return code + "4" + digits(8, random);
+            case "+55":
+                return code + (11 + random.nextInt(89)) + "9" + digits(8, random);
+            case "+81":
+                return code + (7 + random.nextInt(3)) + "0" + digits(8, random);
+            case "+39":
+                return code + "3" + digits(9, random);
+            default:
+                return code + (6 + random.nextInt(2)) + digits(8, random);
+        }
+    }
+
+    private static String digits(int count, SplittableRandom random) {
+        StringBuilder digits = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            digits.append((char) ('0' + random.nextInt(10)));
+        }
+        return digits.toString();
+    }
+
+    // Earlier names are more common, as in real name frequency lists
+    private static int skewed(int size, SplittableRandom random) {
+        double r = random.nextDouble();
+        return (int) (size * r * r);
+    }
+
+    // Email local parts drop accents: Müller -> muller
+    private static String[] emailNames(String[] names) {
+        return Arrays.stream(names)
+                .map(name -> Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT))
+                .toArray(String[]::new);
+    }
+
+    private interface WeightedItem {
+        int getWeight();
+    }
+
+    private static final class Weighted<T extends WeightedItem> {
+        private final List<T> items;
+        private final int[] cumulative;
+
+        // Only reads the elements; the array itself is never stored or passed on
+        @SafeVarargs
+        Weighted(T... items) {
+            this.items = new ArrayList<>(items.length);
+            this.cumulative = new int[items.length];
+            int total = 0;
+            for (int i = 0; i < items.length; i++) {
+                this.items.add(items[i]);
+                total += items[i].getWeight();
+                cumulative[i] = total;
+            }
+        }
+
+        T pick(SplittableRandom random) {
+            int point = random.nextInt(cumulative[cumulative.length - 1]);
+            int index = Arrays.binarySearch(cumulative, point + 1);
+            return items.get(index >= 0 ? index : -index - 1);
+        }
+    }
+
+    private static final class Country implements WeightedItem {
+        private final String code;
+        private final double salaryFactor;
+        private final int weight;
+        private final String[] firstNames;
+        private final String[] lastNames;
+        private final String[] emailFirstNames;
+        private final String[] emailLastNames;
+
+        Country(String code, double salaryFactor, int weight, String[] firstNames, String[] lastNames) {
+            this.code = code;
+            this.salaryFactor = salaryFactor;
+            this.weight = weight;
+            this.firstNames = firstNames;
+            this.lastNames = lastNames;
+            this.emailFirstNames = emailNames(firstNames);
+            this.emailLastNames = emailNames(lastNames);
+        }
+
+        @Override
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private static final class Department implements WeightedItem {
+        private final String name;
+        private final int weight;
+        private final Weighted<Position> positions;
+
+        Department(String name, int weight, Weighted<Position> positions) {
+            this.name = name;
+            this.weight = weight;
+            this.positions = positions;
+        }
+
+        @Override
+        public int getWeight() {
+            return weight;
+        }
+    }
+
+    private static final class Position implements WeightedItem {
+        private final String title;
+        private final double baseSalary;
+        private final int weight;
+
+        Position(String title, double baseSalary, int weight) {
+            this.title = title;
+            this.baseSalary = baseSalary;
+            this.weight = weight;
+        }
+
+        @Override
+        public int getWeight() {
+            return weight;
+        }
+    }
+}
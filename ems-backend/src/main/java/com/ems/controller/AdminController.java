@@ -0,0 +1,22 @@
+package com.ems.controller;
+
+import com.ems.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "http://localhost:4200")
+public class AdminController {
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping("/cache/users")
+    public ResponseEntity<Map<String, Object>> getUserCacheStatistics() {
+        return ResponseEntity.ok(userService.getUserCacheStatistics());
+    }
+}
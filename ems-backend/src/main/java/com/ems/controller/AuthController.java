@@ -7,8 +7,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -22,9 +20,6 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -39,18 +34,15 @@ public class AuthController {
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
             );
 
-            // Load user details
-            final UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getUsername());
-            
-            // Generate token
-            final String jwt = jwtUtil.generateToken(userDetails.getUsername());
-
             // Get user role
             User user = userService.findByUsername(loginRequest.getUsername());
             if (user == null) {
                 return ResponseEntity.badRequest().body("User not found");
             }
 
+            // Generate token carrying the role
+            final String jwt = jwtUtil.generateToken(user);
+
             // Create response
             Map<String, Object> response = new HashMap<>();
             response.put("token", jwt);
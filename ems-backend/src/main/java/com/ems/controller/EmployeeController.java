@@ -1,14 +1,28 @@
 package com.ems.controller;
 
+import com.ems.dto.EmployeeBatchRequest;
+import com.ems.dto.EmployeeBatchResult;
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.EmployeeProjection;
+import com.ems.dto.EmployeeStatistics;
+import com.ems.dto.KeysetPage;
 import com.ems.entity.Employee;
+import com.ems.service.DatasetVersion;
+import com.ems.service.EmployeeBatchService;
+import com.ems.service.EmployeeFacetService;
 import com.ems.service.EmployeeService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -20,9 +34,28 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "http://localhost:4200")
 public class EmployeeController {
 
+    // Clients may keep responses but must revalidate them (cheaply, via the ETag) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    // Larger pages would turn the list into an unbounded export; use /api/export for that
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+
+    @Autowired
+    private EmployeeFacetService facetService;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    // With read replicas a list page may come from a replica that has not applied the latest
+    // write yet, so the dataset version cannot vouch for it and the list goes without an ETag
+    @Value("${ems.datasource.routing.enabled:false}")
+    private boolean replicaReads;
+
     @GetMapping
     public ResponseEntity<?> getEmployees(
             @RequestParam(defaultValue = "0") int page,
@@ -31,10 +64,50 @@ public class EmployeeController {
             @RequestParam(required = false) String department,
             @RequestParam(required = false) String position,
             @RequestParam(required = false) Double minSalary,
-            @RequestParam(required = false) Double maxSalary) {
+            @RequestParam(required = false) Double maxSalary,
+            @RequestParam(defaultValue = "offset") String paging,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean facets,
+            ServletWebRequest webRequest) {
         
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(createErrorResponse(pageSizeError()));
+        }
         try {
-            Page<Employee> employees = employeeService.getAllEmployees(page, size, search, department, position, minSalary, maxSalary);
+            EmployeeFilter filter = new EmployeeFilter(search, department, position, minSalary, maxSalary);
+            // fields=a,b,c returns only those columns (plus id and firstName) instead of full employees
+            EmployeeProjection projection = EmployeeProjection.parse(fields);
+
+            // Any write moves the dataset version on, so an unchanged version means an unchanged
+            // page: polling clients get a 304 without a query. Taken before reading, so a write
+            // racing this request only costs the client one more full response.
+            String etag = replicaReads ? null : "W/\"" + datasetVersion.current() + "\"";
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            // Keyset (cursor) mode: no OFFSET scan and no count query
+            if ("keyset".equals(paging) || after != null) {
+                KeysetPage<?> slice = projection != null
+                        ? employeeService.getEmployeesAfter(after, size, filter, projection)
+                        : employeeService.getEmployeesAfter(after, size, filter);
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("content", slice.getContent());
+                response.put("pageSize", size);
+                response.put("hasNext", slice.hasNext());
+                response.put("nextCursor", slice.getNextCursor());
+                if (facets) {
+                    response.put("facets", facetService.getFacets(filter));
+                }
+
+                return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(response);
+            }
+
+            Page<?> employees = projection != null
+                    ? employeeService.getAllEmployees(page, size, filter, projection)
+                    : employeeService.getAllEmployees(page, size, filter);
             
             // Create a more detailed response
             Map<String, Object> response = new HashMap<>();
@@ -45,8 +118,16 @@ public class EmployeeController {
             response.put("pageSize", employees.getSize());
             response.put("hasNext", employees.hasNext());
             response.put("hasPrevious", employees.hasPrevious());
+            // facets=true adds counts per department, position and salary range for this filter,
+            // so the filter controls need no separate lookups
+            if (facets) {
+                response.put("facets", facetService.getFacets(filter));
+            }
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to fetch employees: " + e.getMessage()));
@@ -54,14 +135,18 @@ public class EmployeeController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getEmployee(@PathVariable Long id) {
+    public ResponseEntity<?> getEmployee(@PathVariable Long id, ServletWebRequest webRequest) {
         try {
             Employee employee = employeeService.getEmployeeById(id);
             if (employee == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(createErrorResponse("Employee not found with id: " + id));
             }
-            return ResponseEntity.ok(employee);
+            // If-None-Match with the current version: 304, the employee is not serialized
+            if (webRequest.checkNotModified(etag(employee))) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag(employee)).cacheControl(REVALIDATE).body(employee);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to fetch employee: " + e.getMessage()));
@@ -94,7 +179,7 @@ public class EmployeeController {
             response.put("employee", savedEmployee);
             response.put("employeeId", savedEmployee.getId());
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(etag(savedEmployee)).body(response);
             
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -105,8 +190,11 @@ public class EmployeeController {
         }
     }
 
+    // With If-Match: "<version>" (the ETag of a GET) the update only applies to that version,
+    // otherwise it fails with 412 instead of overwriting someone else's change
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employee, BindingResult result) {
+    public ResponseEntity<?> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employee, BindingResult result,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             // Check for validation errors
             if (result.hasErrors()) {
@@ -118,29 +206,21 @@ public class EmployeeController {
                         .body(createErrorResponse("Validation failed", errors));
             }
 
-            // Check if employee exists
-            Employee existingEmployee = employeeService.getEmployeeById(id);
-            if (existingEmployee == null) {
+            Employee updatedEmployee = employeeService.updateEmployee(id, employee, expectedVersion(ifMatch));
+            if (updatedEmployee == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(createErrorResponse("Employee not found with id: " + id));
             }
-
-            // Check if email is being changed and already exists for another employee
-            if (!existingEmployee.getEmail().equals(employee.getEmail()) && 
-                employeeService.emailExists(employee.getEmail())) {
-                return ResponseEntity.badRequest()
-                        .body(createErrorResponse("Email already exists: " + employee.getEmail()));
-            }
-
-            employee.setId(id);
-            Employee updatedEmployee = employeeService.saveEmployee(employee);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Employee updated successfully");
             response.put("employee", updatedEmployee);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(etag(updatedEmployee)).body(response);
             
+        } catch (ObjectOptimisticLockingFailureException | NumberFormatException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body(createErrorResponse("Employee was changed by someone else, reload it and try again"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(createErrorResponse(e.getMessage()));
@@ -150,17 +230,41 @@ public class EmployeeController {
         }
     }
 
+    // Many create/update/delete operations in one request; see EmployeeBatchRequest for chunking
+    @PostMapping("/batch")
+    public ResponseEntity<?> batchEmployees(@RequestBody EmployeeBatchRequest request) {
+        try {
+            List<EmployeeBatchResult> results = employeeBatchService.apply(request.getOperations(), request.getChunkSize());
+
+            Map<EmployeeBatchResult.Status, Long> counts = results.stream()
+                    .collect(Collectors.groupingBy(EmployeeBatchResult::getStatus, Collectors.counting()));
+            long applied = counts.getOrDefault(EmployeeBatchResult.Status.APPLIED, 0L);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("results", results);
+            response.put("applied", applied);
+            response.put("failed", counts.getOrDefault(EmployeeBatchResult.Status.FAILED, 0L));
+            response.put("skipped", counts.getOrDefault(EmployeeBatchResult.Status.SKIPPED, 0L));
+
+            return applied == 0 ? ResponseEntity.badRequest().body(response) : ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to apply batch: " + e.getMessage()));
+        }
+    }
+
+    // Takes If-Match like updateEmployee
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteEmployee(@PathVariable Long id) {
+    public ResponseEntity<?> deleteEmployee(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            // Check if employee exists
-            Employee existingEmployee = employeeService.getEmployeeById(id);
-            if (existingEmployee == null) {
+            if (!employeeService.deleteEmployee(id, expectedVersion(ifMatch))) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(createErrorResponse("Employee not found with id: " + id));
             }
-
-            employeeService.deleteEmployee(id);
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "Employee deleted successfully");
@@ -168,6 +272,9 @@ public class EmployeeController {
             
             return ResponseEntity.ok(response);
             
+        } catch (ObjectOptimisticLockingFailureException | NumberFormatException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body(createErrorResponse("Employee was changed by someone else, reload it and try again"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(createErrorResponse(e.getMessage()));
@@ -177,6 +284,13 @@ public class EmployeeController {
         }
     }
 
+    // As-you-type check for the employee form; pass excludeId when editing an existing employee
+    @GetMapping("/check-email")
+    public ResponseEntity<Boolean> checkEmail(@RequestParam String email,
+                                              @RequestParam(required = false) Long excludeId) {
+        return ResponseEntity.ok(employeeService.emailExists(email.trim(), excludeId));
+    }
+
     @GetMapping("/departments")
     public ResponseEntity<?> getDepartments() {
         try {
@@ -205,6 +319,9 @@ public class EmployeeController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(createErrorResponse(pageSizeError()));
+        }
         try {
             Page<Employee> employees = employeeService.getEmployeesByDepartment(department, page, size);
             
@@ -225,7 +342,7 @@ public class EmployeeController {
     @GetMapping("/stats/summary")
     public ResponseEntity<?> getEmployeeStats() {
         try {
-            Map<String, Object> stats = employeeService.getEmployeeStatistics();
+            EmployeeStatistics stats = employeeService.getEmployeeStatistics();
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -233,7 +350,29 @@ public class EmployeeController {
         }
     }
 
+    // Strong ETag of one employee: its version
+    private static String etag(Employee employee) {
+        return "\"" + employee.getVersion() + "\"";
+    }
+
+    // The version an If-Match header requires; null (unconditional) when absent or "*". Weak or
+    // malformed tags can never match and throw NumberFormatException, answered with 412.
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new NumberFormatException("Not a strong entity tag: " + tag);
+        }
+        return Long.valueOf(tag.substring(1, tag.length() - 1));
+    }
+
     // Helper method to create error responses
+    private static String pageSizeError() {
+        return "size must be between 1 and " + MAX_PAGE_SIZE;
+    }
+
     private Map<String, Object> createErrorResponse(String message) {
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("error", message);
@@ -1,41 +1,275 @@
 package com.ems.controller;
 
+import com.ems.dto.CachedExport;
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.ExportJob;
+import com.ems.dto.ExportJobRequest;
+import com.ems.service.ExportCacheService;
+import com.ems.service.ExportJobService;
 import com.ems.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/export")
 @CrossOrigin(origins = "http://localhost:4200")
 public class ExportController {
 
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Autowired
     private ExportService exportService;
 
+    @Autowired
+    private ExportJobService exportJobService;
+
+    @Autowired
+    private ExportCacheService exportCacheService;
+
+    // Exports take the list's filter parameters (search, department, position, minSalary, maxSalary)
+    // and contain the same employees. This one is served from the export cache: unchanged data is
+    // sent straight from disk, or answered with 304.
     @GetMapping("/employees/csv")
-    public ResponseEntity<Resource> exportEmployeesToCSV() {
+    public ResponseEntity<?> exportEmployeesToCSV(EmployeeFilter filter, ServletWebRequest webRequest) {
         String filename = "employees_" + System.currentTimeMillis() + ".csv";
-        InputStreamResource file = new InputStreamResource(exportService.exportEmployeesToCSV());
+        return cachedExport("csv", filter, MediaType.parseMediaType("application/csv"),
+                filename, webRequest);
+    }
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
-                .contentType(MediaType.parseMediaType("application/csv"))
-                .body(file);
+    // Streaming mode: rows are written to the response as they are read, nothing is buffered.
+    // Clients sending Accept-Encoding: gzip get the stream compressed on the fly.
+    @GetMapping("/employees/csv/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployeesToCSV(
+            EmployeeFilter filter, @RequestParam(defaultValue = "false") boolean count,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String filename = "employees_" + System.currentTimeMillis() + ".csv";
+        return streamed(filter, count, MediaType.parseMediaType("application/csv"), filename, acceptEncoding,
+                out -> exportService.writeEmployeesToCSV(out, filter));
+    }
+
+    // One JSON object per line, ending with a {"trailer":{"rows":n,"bytes":m}} line
+    @GetMapping("/employees/ndjson/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployeesToNdjson(
+            EmployeeFilter filter, @RequestParam(defaultValue = "false") boolean count,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String filename = "employees_" + System.currentTimeMillis() + ".ndjson";
+        return streamed(filter, count, NDJSON, filename, acceptEncoding,
+                out -> exportService.writeEmployeesToNdjson(out, filter));
     }
 
     @GetMapping("/employees/excel")
-    public ResponseEntity<Resource> exportEmployeesToExcel() {
+    public ResponseEntity<?> exportEmployeesToExcel(EmployeeFilter filter, ServletWebRequest webRequest) {
+        String filename = "employees_" + System.currentTimeMillis() + ".xlsx";
+        return cachedExport("excel", filter,
+                MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+                filename, webRequest);
+    }
+
+    @GetMapping("/employees/excel/stream")
+    public ResponseEntity<StreamingResponseBody> streamEmployeesToExcel(EmployeeFilter filter) {
         String filename = "employees_" + System.currentTimeMillis() + ".xlsx";
-        InputStreamResource file = new InputStreamResource(exportService.exportEmployeesToExcel());
+        StreamingResponseBody body = out -> exportService.writeEmployeesToExcel(out, filter);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(file);
+                .body(body);
+    }
+
+    // Background export: returns 202 with the job; poll it, then download /jobs/{id}/file
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitExportJob(@RequestBody ExportJobRequest request, Principal principal) {
+        try {
+            ExportJob job = exportJobService.submit(principal.getName(), request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/export/jobs/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(createErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<ExportJob>> getExportJobs(Principal principal) {
+        return ResponseEntity.ok(exportJobService.getJobs(principal.getName()));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getExportJob(@PathVariable String id, Principal principal) {
+        ExportJob job = exportJobService.getJob(principal.getName(), id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Export job not found: " + id));
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/jobs/{id}/file")
+    public ResponseEntity<?> downloadExportJob(@PathVariable String id, Principal principal) {
+        ExportJob job = exportJobService.getJob(principal.getName(), id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Export job not found: " + id));
+        }
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse("Export job is " + job.getStatus() + ", no file to download"));
+        }
+
+        // Spool files are named <job id><extension>
+        String filename = "employees_" + job.getFile().getFileName();
+        MediaType contentType;
+        if ("excel".equals(job.getFormat())) {
+            contentType = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        } else if ("ndjson".equals(job.getFormat())) {
+            contentType = NDJSON;
+        } else {
+            contentType = MediaType.parseMediaType("application/csv");
+        }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(contentType)
+                .contentLength(job.getFileSize())
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    // Cancels a pending job, or discards a finished one together with its file
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<?> cancelExportJob(@PathVariable String id, Principal principal) {
+        ExportJob job = exportJobService.cancel(principal.getName(), id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse("Export job not found: " + id));
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    private ResponseEntity<?> cachedExport(String format, EmployeeFilter filter, MediaType contentType,
+                                           String filename, ServletWebRequest webRequest) {
+        // Clients revalidate with If-None-Match; the ETag changes whenever the data does
+        if (webRequest.checkNotModified(exportCacheService.etag(format, filter))) {
+            return null;
+        }
+
+        CachedExport export = exportCacheService.get(format, filter);
+        // The file stays on disk while this request uses it, even if it is evicted meanwhile
+        RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                "ems.export.lease", () -> exportCacheService.release(export), RequestAttributes.SCOPE_REQUEST);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .contentType(contentType)
+                .contentLength(export.getSize());
+        // No ETag when the data changed during rendering; the file then matches no single version
+        if (export.getEtag() != null) {
+            response.eTag(export.getEtag());
+        }
+
+        // Tomcat sends the file with sendfile(2) once the headers are written; no body is copied
+        HttpServletRequest request = webRequest.getRequest();
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            try {
+                request.setAttribute(SENDFILE_FILENAME, export.getFile().toRealPath().toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, export.getSize());
+            return response.build();
+        }
+        return response.body(new FileSystemResource(export.getFile()));
+    }
+
+    // With count=true, X-Export-Rows is counted before the stream starts so a consumer can size
+    // its work up front. That is a full COUNT ahead of the first byte, so it is opt-in; the
+    // NDJSON trailer reports the rows and bytes actually sent either way.
+    private ResponseEntity<StreamingResponseBody> streamed(EmployeeFilter filter, boolean count, MediaType contentType,
+            String filename, String acceptEncoding, StreamingResponseBody writer) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = !gzip ? writer : out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, ExportService.STREAM_BUFFER_SIZE);
+            writer.writeTo(compressed);
+            compressed.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(contentType);
+        if (count) {
+            response.header("X-Export-Rows", String.valueOf(exportService.countEmployees(filter)));
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // True when gzip (or *, if gzip is not listed) has a q-value above 0: "gzip;q=0" refuses it
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                any = quality;
+            }
+        }
+        Double quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    private Map<String, Object> createErrorResponse(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", message);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        return errorResponse;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.ems.controller;
+
+import com.ems.dto.ImportResult;
+import com.ems.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ImportController {
+
+    @Autowired
+    private ImportService importService;
+
+    // Accepts the CSV/XLSX layout produced by /api/export; reports per-row errors for rejected rows
+    @PostMapping(value = "/employees", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importEmployees(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(createErrorResponse("File is empty"));
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            ImportResult result = importService.importEmployees(in, file.getOriginalFilename());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to import employees: " + e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> createErrorResponse(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", message);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        return errorResponse;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ems.dto;
+
+import java.nio.file.Path;
+
+/**
+ * A rendered export file in the export cache, valid for one dataset version. Requests lease it
+ * while they send it; once evicted, the file may only be deleted after the last lease is gone.
+ * An export without an ETag was rendered while the data changed and is never cached.
+ */
+public class CachedExport {
+    private final Path file;
+    private final long size;
+    private final String etag;
+    private final long version;
+    private volatile long lastAccess = System.nanoTime();
+
+    private int leases;
+    private boolean evicted;
+    private long releasedAt = System.nanoTime();
+
+    public CachedExport(Path file, long size, String etag, long version) {
+        this.file = file;
+        this.size = size;
+        this.etag = etag;
+        this.version = version;
+    }
+
+    public void touch() { lastAccess = System.nanoTime(); }
+
+    /** False once the export has been evicted; the caller then has to look it up again. */
+    public synchronized boolean acquire() {
+        if (evicted) {
+            return false;
+        }
+        leases++;
+        return true;
+    }
+
+    public synchronized void release() {
+        if (leases > 0) {
+            leases--;
+        }
+        releasedAt = System.nanoTime();
+    }
+
+    public synchronized void evict() { evicted = true; }
+
+    /** Evicted, not leased, and the last lease was given up at least {@code graceNanos} ago. */
+    public synchronized boolean isDeletable(long graceNanos) {
+        return evicted && leases == 0 && System.nanoTime() - releasedAt >= graceNanos;
+    }
+
+    public Path getFile() { return file; }
+    public long getSize() { return size; }
+    public String getEtag() { return etag; }
+    public long getVersion() { return version; }
+    public long getLastAccess() { return lastAccess; }
+}
@@ -0,0 +1,22 @@
+package com.ems.dto;
+
+import com.ems.entity.Employee;
+
+/**
+ * One entry of {@code POST /api/employees/batch}: {@code create} needs {@code employee},
+ * {@code update} needs {@code id} and {@code employee}, {@code delete} needs {@code id}.
+ */
+public class EmployeeBatchOperation {
+    public enum Type { CREATE, UPDATE, DELETE }
+
+    private Type op;
+    private Long id;
+    private Employee employee;
+
+    public Type getOp() { return op; }
+    public void setOp(Type op) { this.op = op; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Employee getEmployee() { return employee; }
+    public void setEmployee(Employee employee) { this.employee = employee; }
+}
@@ -0,0 +1,18 @@
+package com.ems.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Operations are applied in chunks of {@code chunkSize} (the whole list when unset), each chunk
+ * in its own transaction: a chunk is applied completely or not at all.
+ */
+public class EmployeeBatchRequest {
+    private List<EmployeeBatchOperation> operations = new ArrayList<>();
+    private Integer chunkSize;
+
+    public List<EmployeeBatchOperation> getOperations() { return operations; }
+    public void setOperations(List<EmployeeBatchOperation> operations) { this.operations = operations; }
+    public Integer getChunkSize() { return chunkSize; }
+    public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
+}
@@ -0,0 +1,31 @@
+package com.ems.dto;
+
+/**
+ * Outcome of one batch operation, reported at the operation's position in the request.
+ * {@code SKIPPED} marks a valid operation whose chunk was rolled back because another
+ * operation in it failed.
+ */
+public class EmployeeBatchResult {
+    public enum Status { APPLIED, FAILED, SKIPPED }
+
+    private final int index;
+    private final EmployeeBatchOperation.Type op;
+    private Long id;
+    private Status status;
+    private String error;
+
+    public EmployeeBatchResult(int index, EmployeeBatchOperation.Type op, Long id) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+    }
+
+    public int getIndex() { return index; }
+    public EmployeeBatchOperation.Type getOp() { return op; }
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,83 @@
+package com.ems.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Match counts per department, position and salary range for a list filter, rolled up from the
+ * rows of one {@link FacetAggregate} query. Each facet applies every filter except its own, so
+ * it shows how many employees picking that value instead would give: with {@code department=HR}
+ * the department facet still lists every department. Values without matches are left out,
+ * except the selected department and position.
+ */
+public class EmployeeFacets {
+    private final Map<String, Long> departments = new TreeMap<>();
+    private final Map<String, Long> positions = new TreeMap<>();
+    private final Map<SalaryRange, Long> salaryRanges = new EnumMap<>(SalaryRange.class);
+
+    public static EmployeeFacets from(Collection<FacetAggregate> aggregates, EmployeeFilter filter) {
+        EmployeeFacets facets = new EmployeeFacets();
+        for (SalaryRange range : SalaryRange.values()) {
+            facets.salaryRanges.put(range, 0L);
+        }
+        for (FacetAggregate aggregate : aggregates) {
+            boolean departmentMatches = matches(filter.getDepartment(), aggregate.getDepartment());
+            boolean positionMatches = matches(filter.getPosition(), aggregate.getPosition());
+            if (positionMatches && aggregate.getDepartment() != null && aggregate.getCount() > 0) {
+                facets.departments.merge(aggregate.getDepartment(), aggregate.getCount(), Long::sum);
+            }
+            if (departmentMatches && aggregate.getPosition() != null && aggregate.getCount() > 0) {
+                facets.positions.merge(aggregate.getPosition(), aggregate.getCount(), Long::sum);
+            }
+            if (departmentMatches && positionMatches) {
+                for (SalaryRange range : SalaryRange.values()) {
+                    facets.salaryRanges.merge(range, aggregate.getSalaryRangeCount(range), Long::sum);
+                }
+            }
+        }
+        // Keep the current selection listed, so a filter dropdown can still show it
+        if (filter.getDepartment() != null) {
+            facets.departments.putIfAbsent(filter.getDepartment(), 0L);
+        }
+        if (filter.getPosition() != null) {
+            facets.positions.putIfAbsent(filter.getPosition(), 0L);
+        }
+        return facets;
+    }
+
+    private static boolean matches(String selected, String value) {
+        return selected == null || selected.equals(value);
+    }
+
+    public List<Map<String, Object>> getDepartments() { return values(departments); }
+    public List<Map<String, Object>> getPositions() { return values(positions); }
+
+    public List<Map<String, Object>> getSalaryRanges() {
+        List<Map<String, Object>> ranges = new ArrayList<>();
+        salaryRanges.forEach((range, count) -> {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("range", range.getLabel());
+            bucket.put("min", range.getMin());
+            bucket.put("max", range.getMax());
+            bucket.put("count", count);
+            ranges.add(bucket);
+        });
+        return ranges;
+    }
+
+    private static List<Map<String, Object>> values(Map<String, Long> counts) {
+        List<Map<String, Object>> values = new ArrayList<>(counts.size());
+        counts.forEach((value, count) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("value", value);
+            entry.put("count", count);
+            values.add(entry);
+        });
+        return values;
+    }
+}
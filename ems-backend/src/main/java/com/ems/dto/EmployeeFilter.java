@@ -0,0 +1,36 @@
+package com.ems.dto;
+
+/**
+ * Optional employee filters shared by list, keyset and export requests. Unset fields do not
+ * restrict the result; {@code search} matches case-insensitively anywhere in the name, email,
+ * department or position.
+ */
+public class EmployeeFilter {
+    private String search;
+    private String department;
+    private String position;
+    private Double minSalary;
+    private Double maxSalary;
+
+    public EmployeeFilter() {
+    }
+
+    public EmployeeFilter(String search, String department, String position, Double minSalary, Double maxSalary) {
+        this.search = search;
+        this.department = department;
+        this.position = position;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+    }
+
+    public String getSearch() { return search; }
+    public void setSearch(String search) { this.search = search; }
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+    public Double getMinSalary() { return minSalary; }
+    public void setMinSalary(Double minSalary) { this.minSalary = minSalary; }
+    public Double getMaxSalary() { return maxSalary; }
+    public void setMaxSalary(Double maxSalary) { this.maxSalary = maxSalary; }
+}
@@ -0,0 +1,47 @@
+package com.ems.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The employee columns a list request asked for with {@code fields=}, e.g.
+ * {@code fields=lastName,email,department}. Only these columns are selected, so a page of
+ * projected rows never loads or manages entities. {@code id} and {@code firstName} (the list
+ * order and keyset cursor) are always included; computed properties such as
+ * {@code formattedPhoneNumber} cannot be selected.
+ */
+public class EmployeeProjection {
+
+    private static final Set<String> SELECTABLE = Set.of("id", "firstName", "lastName", "email", "phoneNumber",
+            "countryCode", "department", "position", "salary", "hireDate", "createdAt", "updatedAt");
+
+    private final List<String> fields;
+
+    private EmployeeProjection(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /** Parses a comma-separated field list; null or blank means no projection (full employees). */
+    public static EmployeeProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>(List.of("id", "firstName"));
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!SELECTABLE.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return new EmployeeProjection(Collections.unmodifiableList(new ArrayList<>(selected)));
+    }
+
+    public List<String> getFields() { return fields; }
+}
@@ -0,0 +1,67 @@
+package com.ems.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact statistics summary for the dashboard and analytics screens. It is rolled up in memory
+ * from the few hundred rows of a single GROUP BY query, so its size does not depend on headcount.
+ * Employees without a salary count towards headcount but not towards any salary range, as in
+ * the salary facet.
+ */
+public class EmployeeStatistics {
+    private final GroupStatistics overall = new GroupStatistics("All");
+    private final Map<String, GroupStatistics> departments = new TreeMap<>();
+    private final Map<String, GroupStatistics> positions = new TreeMap<>();
+    private final Map<SalaryRange, Long> salaryDistribution = new EnumMap<>(SalaryRange.class);
+
+    public static EmployeeStatistics from(Collection<SalaryAggregate> aggregates) {
+        EmployeeStatistics statistics = new EmployeeStatistics();
+        for (SalaryRange range : SalaryRange.values()) {
+            statistics.salaryDistribution.put(range, 0L);
+        }
+        for (SalaryAggregate aggregate : aggregates) {
+            statistics.overall.add(aggregate);
+            statistics.departments.computeIfAbsent(nameOrUnassigned(aggregate.getDepartment()), GroupStatistics::new)
+                    .add(aggregate);
+            statistics.positions.computeIfAbsent(nameOrUnassigned(aggregate.getPosition()), GroupStatistics::new)
+                    .add(aggregate);
+            if (aggregate.getSalaryRange() != null) {
+                statistics.salaryDistribution.merge(aggregate.getSalaryRange(), aggregate.getCount(), Long::sum);
+            }
+        }
+        return statistics;
+    }
+
+    private static String nameOrUnassigned(String name) {
+        return name != null ? name : "Unassigned";
+    }
+
+    public long getTotalEmployees() { return overall.getCount(); }
+    public double getTotalSalary() { return overall.getTotalSalary(); }
+    public double getAverageSalary() { return overall.getAverageSalary(); }
+    public Double getMinSalary() { return overall.getMinSalary(); }
+    public Double getMaxSalary() { return overall.getMaxSalary(); }
+    public int getTotalDepartments() { return departments.size(); }
+    public int getTotalPositions() { return positions.size(); }
+    public Collection<GroupStatistics> getDepartments() { return departments.values(); }
+    public Collection<GroupStatistics> getPositions() { return positions.values(); }
+
+    public List<Map<String, Object>> getSalaryDistribution() {
+        List<Map<String, Object>> distribution = new ArrayList<>();
+        salaryDistribution.forEach((range, count) -> {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("range", range.getLabel());
+            bucket.put("min", range.getMin());
+            bucket.put("max", range.getMax());
+            bucket.put("count", count);
+            distribution.add(bucket);
+        });
+        return distribution;
+    }
+}
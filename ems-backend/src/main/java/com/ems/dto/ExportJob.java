@@ -0,0 +1,85 @@
+package com.ems.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * State of one asynchronous export, as returned by the export job endpoints. The worker updates
+ * {@code rowsWritten} as it goes; status changes go through {@link #moveTo} so a cancellation
+ * and a finishing worker cannot overwrite each other.
+ */
+public class ExportJob {
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private final String id;
+    private final String owner;
+    private final String format;
+    private final EmployeeFilter filter;
+    private final Path file;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private volatile long totalRows = -1;
+    private volatile long rowsWritten;
+    private volatile long fileSize;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ExportJob(String id, String owner, String format, EmployeeFilter filter, Path file) {
+        this.id = id;
+        this.owner = owner;
+        this.format = format;
+        this.filter = filter;
+        this.file = file;
+    }
+
+    public boolean moveTo(Status expected, Status next) {
+        if (!status.compareAndSet(expected, next)) {
+            return false;
+        }
+        if (next == Status.RUNNING) {
+            startedAt = LocalDateTime.now();
+        } else if (next.isFinished()) {
+            finishedAt = LocalDateTime.now();
+        }
+        return true;
+    }
+
+    // Percentage of rows written, or null while the total is not known yet
+    public Integer getProgress() {
+        if (status.get() == Status.COMPLETED) {
+            return 100;
+        }
+        long total = totalRows;
+        return total < 0 ? null : (int) (total == 0 ? 0 : Math.min(99, rowsWritten * 100 / total));
+    }
+
+    public String getId() { return id; }
+    @JsonIgnore
+    public String getOwner() { return owner; }
+    public String getFormat() { return format; }
+    public EmployeeFilter getFilter() { return filter; }
+    @JsonIgnore
+    public Path getFile() { return file; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Status getStatus() { return status.get(); }
+    public Long getTotalRows() { return totalRows < 0 ? null : totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+    public long getRowsWritten() { return rowsWritten; }
+    public void setRowsWritten(long rowsWritten) { this.rowsWritten = rowsWritten; }
+    public long getFileSize() { return fileSize; }
+    public void setFileSize(long fileSize) { this.fileSize = fileSize; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,15 @@
+package com.ems.dto;
+
+/**
+ * Body of {@code POST /api/export/jobs}: {@code format} is {@code csv}, {@code ndjson} or
+ * {@code excel}; the filter is optional and exports every employee when left out.
+ */
+public class ExportJobRequest {
+    private String format;
+    private EmployeeFilter filter = new EmployeeFilter();
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    public EmployeeFilter getFilter() { return filter; }
+    public void setFilter(EmployeeFilter filter) { this.filter = filter; }
+}
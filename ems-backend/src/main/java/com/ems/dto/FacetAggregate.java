@@ -0,0 +1,26 @@
+package com.ems.dto;
+
+/**
+ * One row of the grouped facet aggregate: the employees of one department and position that
+ * match the text search. {@code count} only includes those within the requested salary bounds;
+ * {@code salaryRangeCounts} (indexed by {@link SalaryRange} ordinal) ignores the bounds, so the
+ * salary facet can show what each range would give.
+ */
+public class FacetAggregate {
+    private final String department;
+    private final String position;
+    private final long count;
+    private final long[] salaryRangeCounts;
+
+    public FacetAggregate(String department, String position, long count, long[] salaryRangeCounts) {
+        this.department = department;
+        this.position = position;
+        this.count = count;
+        this.salaryRangeCounts = salaryRangeCounts;
+    }
+
+    public String getDepartment() { return department; }
+    public String getPosition() { return position; }
+    public long getCount() { return count; }
+    public long getSalaryRangeCount(SalaryRange range) { return salaryRangeCounts[range.ordinal()]; }
+}
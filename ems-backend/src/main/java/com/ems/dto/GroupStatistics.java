@@ -0,0 +1,37 @@
+package com.ems.dto;
+
+/**
+ * Headcount and salary figures for one group of employees (a department, a position or the
+ * whole company). Averages only consider employees that have a salary.
+ */
+public class GroupStatistics {
+    private final String name;
+    private long count;
+    private long salaryCount;
+    private double totalSalary;
+    private Double minSalary;
+    private Double maxSalary;
+
+    public GroupStatistics(String name) {
+        this.name = name;
+    }
+
+    void add(SalaryAggregate aggregate) {
+        count += aggregate.getCount();
+        salaryCount += aggregate.getSalaryCount();
+        totalSalary += aggregate.getSalarySum();
+        if (aggregate.getSalaryMin() != null && (minSalary == null || aggregate.getSalaryMin() < minSalary)) {
+            minSalary = aggregate.getSalaryMin();
+        }
+        if (aggregate.getSalaryMax() != null && (maxSalary == null || aggregate.getSalaryMax() > maxSalary)) {
+            maxSalary = aggregate.getSalaryMax();
+        }
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return count; }
+    public double getTotalSalary() { return totalSalary; }
+    public double getAverageSalary() { return salaryCount > 0 ? totalSalary / salaryCount : 0.0; }
+    public Double getMinSalary() { return minSalary; }
+    public Double getMaxSalary() { return maxSalary; }
+}
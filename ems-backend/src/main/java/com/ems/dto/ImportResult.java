@@ -0,0 +1,39 @@
+package com.ems.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Valid rows are inserted even when others fail; at most
+ * {@code MAX_REPORTED_ERRORS} row errors are listed, the rest are only counted.
+ */
+public class ImportResult {
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private long durationMs;
+
+    public void addImported(int count) {
+        totalRows += count;
+        importedRows += count;
+    }
+
+    public void addError(long row, String message) {
+        totalRows++;
+        failedRows++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportRowError(row, message));
+        }
+    }
+
+    public long getTotalRows() { return totalRows; }
+    public long getImportedRows() { return importedRows; }
+    public long getFailedRows() { return failedRows; }
+    public List<ImportRowError> getErrors() { return errors; }
+    public boolean isErrorsTruncated() { return failedRows > errors.size(); }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
@@ -0,0 +1,18 @@
+package com.ems.dto;
+
+/**
+ * A rejected row of a bulk import. Row numbers are 1-based and count the header row, so they
+ * match what a spreadsheet shows.
+ */
+public class ImportRowError {
+    private final long row;
+    private final String message;
+
+    public ImportRowError(long row, String message) {
+        this.row = row;
+        this.message = message;
+    }
+
+    public long getRow() { return row; }
+    public String getMessage() { return message; }
+}
@@ -0,0 +1,36 @@
+package com.ems.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in the (firstName, id) ordering of the employee list. Clients receive it as
+ * {@code nextCursor} and send it back unchanged as {@code after}.
+ */
+public class KeysetCursor {
+    private final String firstName;
+    private final Long id;
+
+    public KeysetCursor(String firstName, Long id) {
+        this.firstName = firstName;
+        this.id = id;
+    }
+
+    public String getFirstName() { return firstName; }
+    public Long getId() { return id; }
+
+    public String encode() {
+        String raw = id + ":" + firstName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new KeysetCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ems.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated list. Unlike {@code Page} it carries no totals, so producing
+ * it never needs a count query.
+ */
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() { return content; }
+    public boolean hasNext() { return hasNext; }
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,38 @@
+package com.ems.dto;
+
+/**
+ * One row of the grouped salary aggregate: all employees sharing a department, position and
+ * salary range. Built directly by a JPQL constructor expression. Employees without a salary have
+ * no salary range.
+ */
+public class SalaryAggregate {
+    private final String department;
+    private final String position;
+    private final SalaryRange salaryRange;
+    private final long count;
+    private final long salaryCount;
+    private final double salarySum;
+    private final Double salaryMin;
+    private final Double salaryMax;
+
+    public SalaryAggregate(String department, String position, Integer salaryRange, Long count,
+                           Long salaryCount, Double salarySum, Double salaryMin, Double salaryMax) {
+        this.department = department;
+        this.position = position;
+        this.salaryRange = salaryRange >= 0 ? SalaryRange.values()[salaryRange] : null;
+        this.count = count;
+        this.salaryCount = salaryCount;
+        this.salarySum = salarySum != null ? salarySum : 0.0;
+        this.salaryMin = salaryMin;
+        this.salaryMax = salaryMax;
+    }
+
+    public String getDepartment() { return department; }
+    public String getPosition() { return position; }
+    public SalaryRange getSalaryRange() { return salaryRange; }
+    public long getCount() { return count; }
+    public long getSalaryCount() { return salaryCount; }
+    public double getSalarySum() { return salarySum; }
+    public Double getSalaryMin() { return salaryMin; }
+    public Double getSalaryMax() { return salaryMax; }
+}
@@ -0,0 +1,27 @@
+package com.ems.dto;
+
+/**
+ * Salary buckets used by the statistics summary and the salary facet. The bounds are mirrored by
+ * the CASE expression in {@code EmployeeRepository.aggregateSalaries()}; keep the two in sync.
+ * The facet query builds its conditions from these values.
+ */
+public enum SalaryRange {
+    UNDER_50K("0-50k", 0, 50000.0),
+    FROM_50K_TO_75K("50k-75k", 50000, 75000.0),
+    FROM_75K_TO_100K("75k-100k", 75000, 100000.0),
+    OVER_100K("100k+", 100000, null);
+
+    private final String label;
+    private final double min;
+    private final Double max;
+
+    SalaryRange(String label, double min, Double max) {
+        this.label = label;
+        this.min = min;
+        this.max = max;
+    }
+
+    public String getLabel() { return label; }
+    public double getMin() { return min; }
+    public Double getMax() { return max; }
+}
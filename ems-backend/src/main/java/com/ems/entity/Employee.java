@@ -2,10 +2,25 @@ package com.ems.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+    // Serves the default firstName ordering and keyset seeks on (firstName, id)
+    @Index(name = "idx_employees_first_name_id", columnList = "firstName, id"),
+    // Department/position filters in list order, and the DISTINCT lookups behind the filter dropdowns
+    @Index(name = "idx_employees_department_first_name_id", columnList = "department, firstName, id"),
+    @Index(name = "idx_employees_position_first_name_id", columnList = "position, firstName, id"),
+    // Salary range filters
+    @Index(name = "idx_employees_salary", columnList = "salary")
+})
+// Second-level cache regions, used when ems.l2-cache.enabled is set (see SecondLevelCacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
+@NaturalIdCache(region = "employees-by-email")
 public class Employee {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +37,7 @@ public class Employee {
     private String lastName;
 
     @Email(message = "Email should be valid")
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -49,6 +65,11 @@ public class Employee {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Bumped by every update; sent as the ETag and checked against If-Match
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -67,6 +88,21 @@ public class Employee {
         updatedAt = LocalDateTime.now();
     }
 
+    // Same fields the employee form edits; id, version and audit timestamps stay with the stored row
+    public void applyChanges(Employee changes) {
+        firstName = changes.getFirstName();
+        lastName = changes.getLastName();
+        email = changes.getEmail();
+        phoneNumber = changes.getPhoneNumber();
+        countryCode = changes.getCountryCode();
+        department = changes.getDepartment();
+        position = changes.getPosition();
+        salary = changes.getSalary();
+        if (changes.getHireDate() != null) {
+            hireDate = changes.getHireDate();
+        }
+    }
+
     // Constructors
     public Employee() {}
 
@@ -120,6 +156,9 @@ public class Employee {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
     // Helper method to get formatted phone number
     public String getFormattedPhoneNumber() {
         if (phoneNumber == null) return "";
@@ -2,15 +2,22 @@ package com.ems.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotBlank(message = "Username is required")
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
 
@@ -25,6 +32,10 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Embedded in issued tokens; bumping it revokes every token issued before
+    @Column(nullable = false)
+    private long tokenVersion;
+
     public enum Role {
         ADMIN, USER
     }
@@ -50,4 +61,6 @@ public class User {
     public void setEmail(String email) { this.email = email; }
     public Role getRole() { return role; }
     public void setRole(Role role) { this.role = role; }
+    public long getTokenVersion() { return tokenVersion; }
+    public void setTokenVersion(long tokenVersion) { this.tokenVersion = tokenVersion; }
 }
\ No newline at end of file
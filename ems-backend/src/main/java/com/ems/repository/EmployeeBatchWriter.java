@@ -0,0 +1,116 @@
+package com.ems.repository;
+
+import com.ems.entity.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts new employees as JDBC batches. Hibernate cannot batch inserts for IDENTITY ids (it
+ * needs each generated key immediately), so bulk writes bypass the persistence context and
+ * read the keys back from the batch instead. On MySQL, {@code rewriteBatchedStatements=true}
+ * turns each batch into a single multi-row INSERT.
+ */
+@Repository
+public class EmployeeBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO employees (first_name, last_name, email, "
+            + "phone_number, country_code, department, position, salary, hire_date, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String RELEASE_EMAIL_SQL = "UPDATE employees SET email = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all employees in one batch and assigns their generated ids. Audit timestamps are
+     * filled in the same way as {@code Employee}'s {@code @PrePersist} callback; every row starts
+     * at version 0, as Hibernate would persist it.
+     */
+    @Transactional
+    public void insertAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Employee employee : employees) {
+            employee.setCreatedAt(now);
+            employee.setUpdatedAt(now);
+            employee.setVersion(0);
+            if (employee.getHireDate() == null) {
+                employee.setHireDate(now);
+            }
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, employees.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return employees.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < employees.size(); i++) {
+            employees.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    /**
+     * Moves the emails of these employees to placeholders no valid email can equal (they have no
+     * '@'), so that other rows can take them over in the same transaction whatever order their
+     * UPDATEs run in. The caller writes the real emails afterwards; version and timestamps are
+     * left to that UPDATE.
+     */
+    @Transactional
+    public void releaseEmails(Collection<Long> ids) {
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            rows.add(new Object[] {"released:" + id, id});
+        }
+        jdbcTemplate.batchUpdate(RELEASE_EMAIL_SQL, rows);
+    }
+
+    private void bind(PreparedStatement ps, Employee employee) throws SQLException {
+        ps.setString(1, employee.getFirstName());
+        ps.setString(2, employee.getLastName());
+        ps.setString(3, employee.getEmail());
+        ps.setString(4, employee.getPhoneNumber());
+        ps.setString(5, employee.getCountryCode());
+        ps.setString(6, employee.getDepartment());
+        ps.setString(7, employee.getPosition());
+        if (employee.getSalary() != null) {
+            ps.setDouble(8, employee.getSalary());
+        } else {
+            ps.setNull(8, Types.DOUBLE);
+        }
+        ps.setTimestamp(9, Timestamp.valueOf(employee.getHireDate()));
+        ps.setTimestamp(10, Timestamp.valueOf(employee.getCreatedAt()));
+        ps.setTimestamp(11, Timestamp.valueOf(employee.getUpdatedAt()));
+    }
+}
@@ -1,52 +1,70 @@
 package com.ems.repository;
 
+import com.ems.dto.SalaryAggregate;
 import com.ems.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
-    
-    @Query("SELECT e FROM Employee e WHERE " +
-           "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.department) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.position) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<Employee> searchEmployees(@Param("search") String search, Pageable pageable);
-    
-    // ADD THIS MISSING ADVANCED SEARCH METHOD
-    @Query("SELECT e FROM Employee e WHERE " +
-           "(:search IS NULL OR " +
-           "LOWER(e.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.email) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.department) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(e.position) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
-           "(:department IS NULL OR e.department = :department) AND " +
-           "(:position IS NULL OR e.position = :position) AND " +
-           "(:minSalary IS NULL OR e.salary >= :minSalary) AND " +
-           "(:maxSalary IS NULL OR e.salary <= :maxSalary)")
-    Page<Employee> advancedSearch(@Param("search") String search,
-                                 @Param("department") String department,
-                                 @Param("position") String position,
-                                 @Param("minSalary") Double minSalary,
-                                 @Param("maxSalary") Double maxSalary,
-                                 Pageable pageable);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>,
+        JpaSpecificationExecutor<Employee>, EmployeeRepositoryCustom {
     
+    // Filtered lists, keyset pages and exports go through EmployeeSpecifications
+    // (findAll(Specification, Pageable) and the EmployeeRepositoryCustom queries)
+
     @Query("SELECT DISTINCT e.department FROM Employee e ORDER BY e.department")
     List<String> findDistinctDepartments();
     
     @Query("SELECT DISTINCT e.position FROM Employee e ORDER BY e.position")
     List<String> findDistinctPositions();
     
-    boolean existsByEmail(String email);
+    // Single GROUP BY pass behind the statistics summary; bucket bounds mirror SalaryRange and
+    // employees without a salary get -1, so they fall in no range
+    @Query("SELECT new com.ems.dto.SalaryAggregate(e.department, e.position, " +
+           "CASE WHEN e.salary IS NULL THEN -1 WHEN e.salary >= 100000 THEN 3 WHEN e.salary >= 75000 THEN 2 " +
+           "WHEN e.salary >= 50000 THEN 1 ELSE 0 END, " +
+           "COUNT(e), COUNT(e.salary), SUM(e.salary), MIN(e.salary), MAX(e.salary)) " +
+           "FROM Employee e " +
+           "GROUP BY e.department, e.position, " +
+           "CASE WHEN e.salary IS NULL THEN -1 WHEN e.salary >= 100000 THEN 3 WHEN e.salary >= 75000 THEN 2 " +
+           "WHEN e.salary >= 50000 THEN 1 ELSE 0 END")
+    List<SalaryAggregate> aggregateSalaries();
     
+    boolean existsByEmail(String email);
+
+    // Set-based uniqueness check for bulk writes: one IN query per chunk instead of one per row
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
     Page<Employee> findByDepartment(String department, Pageable pageable);
+
+    // Forward-only cursor for exports. Must be consumed inside a transaction and closed.
+    int STREAM_FETCH_SIZE = 500;
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT e FROM Employee e ORDER BY e.firstName ASC")
+    Stream<Employee> streamAllOrderByFirstName();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("SELECT e.email FROM Employee e")
+    Stream<String> streamAllEmails();
 }
\ No newline at end of file
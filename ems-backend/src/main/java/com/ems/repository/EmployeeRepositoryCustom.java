@@ -0,0 +1,72 @@
+package com.ems.repository;
+
+import com.ems.dto.EmployeeProjection;
+import com.ems.dto.FacetAggregate;
+import com.ems.entity.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Queries over an {@link EmployeeSpecifications} filter in the list order (firstName, then id).
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Up to {@code limit} matching employees, without the count query a {@code Page} would need.
+     * Keyset pages combine the filter with {@link EmployeeSpecifications#firstNameAfter} and
+     * {@link EmployeeSpecifications#sameFirstNameAfter}.
+     */
+    List<Employee> findMatching(Specification<Employee> spec, int limit);
+
+    /**
+     * Rows {@code offset} to {@code offset + limit - 1} of the matching employees with only the
+     * projected columns, as field name to value in projection order. Selects scalars, so nothing
+     * enters the persistence context.
+     */
+    List<Map<String, Object>> findMatching(Specification<Employee> spec, EmployeeProjection projection,
+                                           int offset, int limit);
+
+    /**
+     * Matching employees grouped by department and position, in one pass: the rows within
+     * {@code minSalary}/{@code maxSalary} (either may be null) and, regardless of those bounds,
+     * the rows per {@code SalaryRange}. Department and position are left out of {@code spec} so
+     * the facets for every value come from the same rows.
+     */
+    List<FacetAggregate> aggregateFacets(Specification<Employee> spec, Double minSalary, Double maxSalary);
+
+    /**
+     * Writes the editable fields of {@code changes} (those the employee form sends) to employee
+     * {@code id} in one UPDATE that also bumps the version and {@code updatedAt}. With an
+     * {@code expectedVersion} the row is only updated while it still has that version. Returns
+     * the number of rows updated: 0 when the employee is missing or was changed meanwhile.
+     * Bulk statements evict the whole employee region of the second-level cache.
+     */
+    int updateIfVersion(Long id, Employee changes, Long expectedVersion);
+
+    // Single conditional DELETE, same contract as updateIfVersion
+    int deleteIfVersion(Long id, Long expectedVersion);
+
+    /**
+     * Current email of employee {@code id}, or null when there is none. Locks the row until the
+     * transaction ends, so a following {@link #updateIfVersion} or {@link #deleteIfVersion}
+     * replaces exactly this email. Selects the one column; nothing enters the persistence context.
+     */
+    String findEmailForUpdate(Long id);
+
+    /**
+     * Id of the employee with this email, resolved through the natural-id cache when enabled and
+     * otherwise with one lookup on the unique email index; null when the email is free.
+     */
+    Long findIdByEmail(String email);
+
+    /**
+     * Forward-only cursor over the matching employees for exports, with the same fetch size and
+     * read-only hints as {@code streamAllOrderByFirstName()}; must be consumed inside a
+     * transaction and closed. Rows bypass the second-level cache, so an export does not evict
+     * the entries interactive requests use.
+     */
+    Stream<Employee> streamMatching(Specification<Employee> spec);
+}
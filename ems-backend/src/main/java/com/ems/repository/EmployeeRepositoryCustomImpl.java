@@ -0,0 +1,199 @@
+package com.ems.repository;
+
+import com.ems.dto.EmployeeProjection;
+import com.ems.dto.FacetAggregate;
+import com.ems.dto.SalaryRange;
+import com.ems.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findMatching(Specification<Employee> spec, int limit) {
+        return inListOrder(spec)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findMatching(Specification<Employee> spec, EmployeeProjection projection,
+                                                  int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        List<Selection<?>> columns = new ArrayList<>();
+        for (String field : projection.getFields()) {
+            columns.add(root.get(field).alias(field));
+        }
+        query.multiselect(columns)
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("firstName")), cb.asc(root.get("id")));
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : projection.getFields()) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FacetAggregate> aggregateFacets(Specification<Employee> spec, Double minSalary, Double maxSalary) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        Path<Double> salary = root.get("salary");
+
+        // Conditional counts are SUM(CASE ...) columns rather than grouping keys, so the query
+        // groups by plain columns only and the bounds can be bound as parameters
+        List<Predicate> bounds = new ArrayList<>();
+        if (minSalary != null) {
+            bounds.add(cb.greaterThanOrEqualTo(salary, minSalary));
+        }
+        if (maxSalary != null) {
+            bounds.add(cb.lessThanOrEqualTo(salary, maxSalary));
+        }
+        List<Selection<?>> columns = new ArrayList<>();
+        columns.add(root.get("department"));
+        columns.add(root.get("position"));
+        columns.add(bounds.isEmpty() ? cb.count(root) : countWhere(cb, cb.and(bounds.toArray(new Predicate[0]))));
+        for (SalaryRange range : SalaryRange.values()) {
+            Predicate inRange = cb.greaterThanOrEqualTo(salary, range.getMin());
+            if (range.getMax() != null) {
+                inRange = cb.and(inRange, cb.lessThan(salary, range.getMax()));
+            }
+            columns.add(countWhere(cb, inRange));
+        }
+        query.multiselect(columns)
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(root.get("department"), root.get("position"));
+
+        List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+        List<FacetAggregate> aggregates = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            long[] rangeCounts = new long[SalaryRange.values().length];
+            for (int i = 0; i < rangeCounts.length; i++) {
+                rangeCounts[i] = ((Number) tuple.get(3 + i)).longValue();
+            }
+            aggregates.add(new FacetAggregate(tuple.get(0, String.class), tuple.get(1, String.class),
+                    ((Number) tuple.get(2)).longValue(), rangeCounts));
+        }
+        return aggregates;
+    }
+
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate condition) {
+        return cb.sum(cb.<Long>selectCase().when(condition, 1L).otherwise(0L));
+    }
+
+    @Override
+    public int updateIfVersion(Long id, Employee changes, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+        update.set(root.<String>get("firstName"), changes.getFirstName())
+                .set(root.<String>get("lastName"), changes.getLastName())
+                .set(root.<String>get("email"), changes.getEmail())
+                .set(root.<String>get("phoneNumber"), changes.getPhoneNumber())
+                .set(root.<String>get("countryCode"), changes.getCountryCode())
+                .set(root.<String>get("department"), changes.getDepartment())
+                .set(root.<String>get("position"), changes.getPosition())
+                .set(root.<Double>get("salary"), changes.getSalary())
+                .set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now())
+                .set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        if (changes.getHireDate() != null) {
+            update.set(root.<LocalDateTime>get("hireDate"), changes.getHireDate());
+        }
+        update.where(byIdAndVersion(cb, root, id, expectedVersion));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteIfVersion(Long id, Long expectedVersion) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Employee> delete = cb.createCriteriaDelete(Employee.class);
+        Root<Employee> root = delete.from(Employee.class);
+        delete.where(byIdAndVersion(cb, root, id, expectedVersion));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    @Override
+    public String findEmailForUpdate(Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(root.get("email")).where(cb.equal(root.get("id"), id));
+        List<String> emails = entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        return emails.isEmpty() ? null : emails.get(0);
+    }
+
+    private static Predicate byIdAndVersion(CriteriaBuilder cb, Root<Employee> root, Long id, Long expectedVersion) {
+        Predicate byId = cb.equal(root.get("id"), id);
+        return expectedVersion == null ? byId : cb.and(byId, cb.equal(root.get("version"), expectedVersion));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long findIdByEmail(String email) {
+        Employee employee = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Employee.class)
+                .getReference(email);
+        return employee != null ? employee.getId() : null;
+    }
+
+    @Override
+    public Stream<Employee> streamMatching(Specification<Employee> spec) {
+        return inListOrder(spec)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EmployeeRepository.STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream();
+    }
+
+    private TypedQuery<Employee> inListOrder(Specification<Employee> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("firstName")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query);
+    }
+}
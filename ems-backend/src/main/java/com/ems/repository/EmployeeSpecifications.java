@@ -0,0 +1,86 @@
+package com.ems.repository;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.entity.Employee;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The one WHERE clause for an {@link EmployeeFilter}, shared by the list, keyset pages, exports
+ * and export jobs so they always agree on which employees match. Only the filters that are set
+ * become predicates; optional-filter guards such as {@code (:x IS NULL OR ...)} would stop the
+ * planner from matching the conjunction against the employee indexes.
+ */
+public final class EmployeeSpecifications {
+
+    // Not a backslash, which MySQL would also treat as an escape inside the string literal
+    private static final char LIKE_ESCAPE = '!';
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            String search = filter.getSearch() != null ? filter.getSearch().trim() : "";
+            if (!search.isEmpty()) {
+                // % and _ are searched for literally, as the search index does
+                String pattern = "%" + escapeLike(search.toLowerCase(Locale.ROOT)) + "%";
+                predicates.add(cb.or(
+                        cb.like(cb.lower(root.get("firstName")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("lastName")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("email")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("department")), pattern, LIKE_ESCAPE),
+                        cb.like(cb.lower(root.get("position")), pattern, LIKE_ESCAPE)));
+            }
+            if (filter.getDepartment() != null) {
+                predicates.add(cb.equal(root.get("department"), filter.getDepartment()));
+            }
+            if (filter.getPosition() != null) {
+                predicates.add(cb.equal(root.get("position"), filter.getPosition()));
+            }
+            if (filter.getMinSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), filter.getMinSalary()));
+            }
+            if (filter.getMaxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("salary"), filter.getMaxSalary()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    // Keyset seeks past (firstName, id), split into the rest of the current first name and the
+    // names after it: each half is an exact seek on the (firstName, id) indexes even when many
+    // employees share a first name
+    public static Specification<Employee> sameFirstNameAfter(String firstName, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("firstName"), firstName),
+                cb.greaterThan(root.get("id"), id));
+    }
+
+    public static Specification<Employee> firstNameAfter(String firstName) {
+        return (root, query, cb) -> cb.greaterThan(root.get("firstName"), firstName);
+    }
+
+    // Hydrates a page of ids found by the search index
+    public static Specification<Employee> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ems.repository;
+
+import com.ems.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Loads a user by its natural id. Unlike a derived query this is answered from the
+     * second-level cache when enabled, which every login and token check goes through.
+     */
+    Optional<User> findByUsername(String username);
+}
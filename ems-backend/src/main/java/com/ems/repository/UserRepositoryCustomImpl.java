@@ -0,0 +1,25 @@
+package com.ems.repository;
+
+import com.ems.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Natural-id access needs the Session, which only lives for the transaction. Not read-only, so
+    // with read replicas it still reads the primary: role and token version changes must apply at once
+    @Override
+    @Transactional
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
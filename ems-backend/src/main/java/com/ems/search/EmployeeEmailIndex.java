@@ -0,0 +1,75 @@
+package com.ems.search;
+
+import com.ems.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Normalized (trimmed, lower-cased) emails of all employees, kept in sync by the write paths.
+ * A miss is answered from memory; a hit only means "maybe taken" and callers confirm it with
+ * the database, since rows may also change outside this node. The unique constraint on
+ * {@code employees.email} stays the final guarantee.
+ */
+@Component
+public class EmployeeEmailIndex {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final Set<String> emails = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        ready = false;
+        emails.clear();
+        try (Stream<String> stored = employeeRepository.streamAllEmails()) {
+            stored.forEach(this::add);
+        }
+        ready = true;
+    }
+
+    /** False only when the email is certainly not used; true while the index is still loading. */
+    public boolean mightContain(String email) {
+        if (email == null) {
+            return false;
+        }
+        return !ready || emails.contains(normalize(email));
+    }
+
+    public void add(String email) {
+        if (email != null) {
+            emails.add(normalize(email));
+        }
+    }
+
+    public void remove(String email) {
+        if (email != null) {
+            emails.remove(normalize(email));
+        }
+    }
+
+    public void replace(String oldEmail, String newEmail) {
+        if (oldEmail != null && !normalize(oldEmail).equals(newEmail != null ? normalize(newEmail) : null)) {
+            remove(oldEmail);
+        }
+        add(newEmail);
+    }
+
+    public int size() {
+        return emails.size();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,319 @@
+package com.ems.search;
+
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over firstName, lastName, email, department and position. It answers
+ * the same case-insensitive "contains" search as {@code EmployeeSpecifications.matching}
+ * without a table scan: the rarest trigram of the query picks the candidates, which are then
+ * verified against the stored text. {@code %} and {@code _} are plain characters in both.
+ * Results are ordered by firstName ignoring case, then id: the list's order under a
+ * case-insensitive collation such as H2's IGNORECASE. MySQL's default utf8mb4 collation also
+ * ignores accents, so accented first names may still sort differently there.
+ *
+ * <p>Documents are numbered in insertion order so posting lists stay sorted and append-only.
+ * Updates tombstone the old document and append a new one; the index is compacted once half
+ * of it is tombstones.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\u0001';
+    private static final int MIN_COMPACTION_SIZE = 10_000;
+
+    private static final Comparator<Doc> LIST_ORDER = Comparator
+            .comparing((Doc doc) -> doc.firstName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingLong(doc -> doc.id);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<Long, Integer> docNoById = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private int tombstones;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            int rowsInChunk = 0;
+            try (Stream<Employee> employees = employeeRepository.streamAllOrderByFirstName()) {
+                Iterator<Employee> iterator = employees.iterator();
+                while (iterator.hasNext()) {
+                    add(iterator.next());
+                    if (++rowsInChunk == EmployeeRepository.STREAM_FETCH_SIZE) {
+                        entityManager.clear();
+                        rowsInChunk = 0;
+                    }
+                }
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** False until the startup build has finished; callers should fall back to the database. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNoById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Employee employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            tombstone(employee.getId());
+            add(employee);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            tombstone(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of matching ids, ordered by firstName then id, plus the total match count.
+     * {@code text} is matched as a case-insensitive substring of any indexed field; the other
+     * filters follow the semantics of {@code EmployeeSpecifications.matching}.
+     */
+    public Page<Long> search(String text, String department, String position,
+                             Double minSalary, Double maxSalary, Pageable pageable) {
+        String query = text == null ? "" : text.toLowerCase(Locale.ROOT);
+        int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+
+        lock.readLock().lock();
+        try {
+            // Max-heap of the best "limit" matches, so only the requested window is ever sorted
+            PriorityQueue<Doc> top = new PriorityQueue<>(Math.max(1, Math.min(limit, 1024)), LIST_ORDER.reversed());
+            long total = 0;
+
+            IntList candidates = null;
+            if (query.length() >= GRAM) {
+                candidates = rarestPostingList(query);
+                if (candidates == null) {
+                    return new PageImpl<>(List.of(), pageable, 0);
+                }
+            }
+
+            // Queries shorter than a trigram fall back to scanning the stored text
+            int candidateCount = candidates != null ? candidates.size : docs.size();
+            for (int i = 0; i < candidateCount; i++) {
+                Doc doc = docs.get(candidates != null ? candidates.values[i] : i);
+                if (doc == null || !doc.matches(query, department, position, minSalary, maxSalary)) {
+                    continue;
+                }
+                total++;
+                if (top.size() < limit) {
+                    top.add(doc);
+                } else if (limit > 0 && LIST_ORDER.compare(doc, top.peek()) < 0) {
+                    top.poll();
+                    top.add(doc);
+                }
+            }
+
+            Doc[] window = top.toArray(new Doc[0]);
+            Arrays.sort(window, LIST_ORDER);
+            List<Long> ids = new ArrayList<>(pageable.getPageSize());
+            for (int i = (int) Math.min(pageable.getOffset(), window.length); i < window.length; i++) {
+                ids.add(window[i].id);
+            }
+            return new PageImpl<>(ids, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntList rarestPostingList(String query) {
+        IntList rarest = null;
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            IntList list = postings.get(gramKey(query, i));
+            if (list == null) {
+                return null;
+            }
+            if (rarest == null || list.size < rarest.size) {
+                rarest = list;
+            }
+        }
+        return rarest;
+    }
+
+    private void add(Employee employee) {
+        Doc doc = new Doc(employee);
+        int docNo = docs.size();
+        docs.add(doc);
+        docNoById.put(doc.id, docNo);
+
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= doc.text.length(); i++) {
+            if (spansFields(doc.text, i)) {
+                continue;
+            }
+            long key = gramKey(doc.text, i);
+            if (grams.add(key)) {
+                postings.computeIfAbsent(key, k -> new IntList()).add(docNo);
+            }
+        }
+    }
+
+    private void tombstone(Long id) {
+        Integer docNo = docNoById.remove(id);
+        if (docNo != null) {
+            docs.set(docNo, null);
+            tombstones++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones < MIN_COMPACTION_SIZE || tombstones * 2 < docs.size()) {
+            return;
+        }
+        List<Doc> live = new ArrayList<>(docNoById.size());
+        for (Doc doc : docs) {
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        clear();
+        for (Doc doc : live) {
+            add(doc.toEmployee());
+        }
+    }
+
+    private void clear() {
+        docs.clear();
+        docNoById.clear();
+        postings.clear();
+        tombstones = 0;
+    }
+
+    private static long gramKey(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static boolean spansFields(String text, int start) {
+        for (int i = start; i < start + GRAM; i++) {
+            if (text.charAt(i) == FIELD_SEPARATOR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Doc {
+        final long id;
+        final String firstName;
+        final String lastName;
+        final String email;
+        final String department;
+        final String position;
+        final Double salary;
+        // Lower-cased fields joined by FIELD_SEPARATOR, so matches never span two fields
+        final String text;
+
+        Doc(Employee employee) {
+            this.id = employee.getId();
+            this.firstName = employee.getFirstName();
+            this.lastName = employee.getLastName();
+            this.email = employee.getEmail();
+            this.department = employee.getDepartment();
+            this.position = employee.getPosition();
+            this.salary = employee.getSalary();
+            this.text = normalize(firstName) + FIELD_SEPARATOR + normalize(lastName) + FIELD_SEPARATOR
+                    + normalize(email) + FIELD_SEPARATOR + normalize(department) + FIELD_SEPARATOR
+                    + normalize(position);
+        }
+
+        boolean matches(String query, String department, String position, Double minSalary, Double maxSalary) {
+            if (!query.isEmpty() && !text.contains(query)) {
+                return false;
+            }
+            if (department != null && !department.equals(this.department)) {
+                return false;
+            }
+            if (position != null && !position.equals(this.position)) {
+                return false;
+            }
+            if (minSalary != null && (salary == null || salary < minSalary)) {
+                return false;
+            }
+            return maxSalary == null || (salary != null && salary <= maxSalary);
+        }
+
+        Employee toEmployee() {
+            Employee employee = new Employee(firstName, lastName, email, null, null, department, position, salary);
+            employee.setId(id);
+            return employee;
+        }
+    }
+
+    /** Growable int array; posting lists are append-only and therefore sorted. */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -1,13 +1,18 @@
 // src/main/java/com/ems/security/JwtAuthenticationFilter.java
 package com.ems.security;
 
+import com.ems.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -25,6 +30,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserService userService;
+
+    // claims = authorities come from the token itself; database = reload the user on every request
+    @Value("${jwt.authorities-source:claims}")
+    private String authoritiesSource;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
@@ -33,18 +45,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Single parse: signature and expiry are verified once, or skipped for a cached token
+            Claims claims = jwtUtil.verifyToken(authorizationHeader.substring(7));
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
+            UserDetails userDetails = claims != null && claims.getSubject() != null ? loadUser(claims) : null;
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            
-            if (jwtUtil.validateToken(jwt)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -53,4 +61,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserDetails loadUser(Claims claims) {
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        Number version = claims.get(JwtUtil.VERSION_CLAIM, Number.class);
+
+        // Tokens issued before role claims existed fall back to the database lookup
+        if (!"claims".equals(authoritiesSource) || role == null || version == null) {
+            return this.userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        if (!userService.isTokenCurrent(claims.getSubject(), role, version.longValue())) {
+            return null;
+        }
+        return User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(new SimpleGrantedAuthority("ROLE_" + role))
+                .build();
+    }
+}
@@ -1,53 +1,141 @@
 // src/main/java/com/ems/security/JwtUtil.java
 package com.ems.security;
 
+import com.ems.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
+    public static final String ROLE_CLAIM = "role";
+    public static final String VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedTokens;
+    // Signature checks only; cache hits show up in the jwt.verified-tokens cache metrics
+    private Timer validVerifications;
+    private Timer invalidVerifications;
+
+    // Key and parser are immutable and thread-safe, so build them once instead of per call
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        if (cacheMaxSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfter(new TokenExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        }
+        validVerifications = verifyTimer("valid");
+        invalidVerifications = verifyTimer("invalid");
     }
 
-    public String generateToken(String username) {
+    // Role and token version travel as claims so requests can be authorized without a user lookup
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getUsername())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(VERSION_CLAIM, user.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry once and returns its claims, or null if the
+     * token is invalid. Tokens already verified are served from the cache until they expire.
+     */
+    public Claims verifyToken(String token) {
+        if (verifiedTokens != null) {
+            Claims cached = verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Claims claims;
+        long start = System.nanoTime();
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        validVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (verifiedTokens != null && claims.getExpiration() != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+        return verifyToken(token) != null;
+    }
+
+    private Timer verifyTimer(String result) {
+        return Timer.builder("ems.jwt.verify")
+                .description("JWT signature and expiry verification")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Each cached token lives exactly until its own exp claim
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
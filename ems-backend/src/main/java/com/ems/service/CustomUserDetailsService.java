@@ -2,7 +2,6 @@
 package com.ems.service;
 
 import com.ems.entity.User;
-import com.ems.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -18,11 +17,13 @@ import java.util.Collections;
 public class CustomUserDetailsService implements UserDetailsService {
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username).orElse(null);
+        // Served from the user cache; a fresh UserDetails is built each time because
+        // authentication erases the credentials of the instance it is given
+        User user = userService.findByUsername(username);
         
         if (user == null) {
             throw new UsernameNotFoundException("User not found: " + username);
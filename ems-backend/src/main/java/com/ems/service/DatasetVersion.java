@@ -0,0 +1,26 @@
+package com.ems.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter that moves forward after every committed change to the employees table, so results
+ * derived from the table can be cached under the version they were built from. It starts at the
+ * startup time, so versions are never reused across restarts. The counter is per instance:
+ * writes made by other instances or directly in the database are not seen.
+ */
+@Component
+public class DatasetVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    // Call after the write has committed, so a reader of the new version sees the change
+    public long increment() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,306 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeBatchOperation;
+import com.ems.dto.EmployeeBatchResult;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeBatchWriter;
+import com.ems.repository.EmployeeRepository;
+import com.ems.search.EmployeeEmailIndex;
+import com.ems.search.EmployeeSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a list of create/update/delete operations with a fixed number of statements per
+ * chunk: one IN query for the referenced ids, one for the emails involved, then a bulk DELETE,
+ * JDBC-batched UPDATEs and a JDBC batch of INSERTs.
+ */
+@Service
+public class EmployeeBatchService {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeBatchWriter batchWriter;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeeEmailIndex emailIndex;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${ems.batch.max-operations:10000}")
+    private int maxOperations;
+
+    public List<EmployeeBatchResult> apply(List<EmployeeBatchOperation> operations, Integer chunkSize) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations given");
+        }
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("Too many operations: " + operations.size() + " (max " + maxOperations + ")");
+        }
+
+        int size = chunkSize != null && chunkSize > 0 ? chunkSize : operations.size();
+        List<EmployeeBatchResult> results = new ArrayList<>(operations.size());
+        for (int start = 0; start < operations.size(); start += size) {
+            int end = Math.min(start + size, operations.size());
+            results.addAll(applyChunk(operations.subList(start, end), start));
+        }
+        return results;
+    }
+
+    private List<EmployeeBatchResult> applyChunk(List<EmployeeBatchOperation> operations, int offset) {
+        List<EmployeeBatchResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            EmployeeBatchOperation operation = operations.get(i);
+            results.add(new EmployeeBatchResult(offset + i, operation.getOp(), operation.getId()));
+        }
+
+        ChunkPlan plan;
+        try {
+            plan = transactionTemplate.execute(status -> {
+                ChunkPlan planned = plan(operations, results);
+                if (planned.failed) {
+                    status.setRollbackOnly();
+                } else {
+                    write(planned);
+                }
+                return planned;
+            });
+        } catch (DataAccessException e) {
+            for (EmployeeBatchResult result : results) {
+                result.setStatus(EmployeeBatchResult.Status.FAILED);
+                result.setError("Chunk rolled back: " + e.getMostSpecificCause().getMessage());
+            }
+            return results;
+        } finally {
+            entityManager.clear();
+        }
+
+        for (EmployeeBatchResult result : results) {
+            if (result.getStatus() == null) {
+                result.setStatus(plan.failed ? EmployeeBatchResult.Status.SKIPPED : EmployeeBatchResult.Status.APPLIED);
+            }
+        }
+        if (!plan.failed) {
+            datasetVersion.increment();
+            plan.releasedEmails.forEach(emailIndex::remove);
+            plan.updates.values().forEach(employee -> emailIndex.add(employee.getEmail()));
+            plan.creates.forEach(employee -> emailIndex.add(employee.getEmail()));
+            plan.deletes.forEach(searchIndex::remove);
+            plan.updates.values().forEach(searchIndex::index);
+            plan.creates.forEach(searchIndex::index);
+        }
+        return results;
+    }
+
+    // Resolves every operation against prefetched state, in request order, without writing
+    private ChunkPlan plan(List<EmployeeBatchOperation> operations, List<EmployeeBatchResult> results) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (EmployeeBatchOperation operation : operations) {
+            if (operation.getId() != null) {
+                ids.add(operation.getId());
+            }
+            // Emails the index rules out cannot belong to anyone yet
+            if (operation.getEmployee() != null && emailIndex.mightContain(operation.getEmployee().getEmail())) {
+                emails.add(operation.getEmployee().getEmail());
+            }
+        }
+
+        Map<Long, Employee> existing = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        // Current owner of each email involved (an id, or the body of a planned create),
+        // updated as the plan claims and releases emails
+        Map<String, Object> emailOwners = new HashMap<>();
+        List<Employee> owners = emails.isEmpty() ? List.of() : employeeRepository.findByEmailIn(emails);
+        for (Employee employee : owners) {
+            emailOwners.put(normalize(employee.getEmail()), employee.getId());
+        }
+        for (Employee employee : existing.values()) {
+            emailOwners.put(normalize(employee.getEmail()), employee.getId());
+        }
+
+        ChunkPlan plan = new ChunkPlan();
+        for (int i = 0; i < operations.size(); i++) {
+            EmployeeBatchOperation operation = operations.get(i);
+            String error = planOne(operation, i, existing, emailOwners, plan);
+            if (error != null) {
+                results.get(i).setStatus(EmployeeBatchResult.Status.FAILED);
+                results.get(i).setError(error);
+                plan.failed = true;
+            }
+        }
+        plan.createResults = plan.createIndexes.stream().map(results::get).collect(Collectors.toList());
+        return plan;
+    }
+
+    private String planOne(EmployeeBatchOperation operation, int index, Map<Long, Employee> existing,
+                           Map<String, Object> emailOwners, ChunkPlan plan) {
+        if (operation.getOp() == null) {
+            return "Operation type is required";
+        }
+        Employee body = operation.getEmployee();
+
+        switch (operation.getOp()) {
+            case CREATE: {
+                String error = validate(body);
+                if (error != null) {
+                    return error;
+                }
+                String email = normalize(body.getEmail());
+                if (emailOwners.containsKey(email)) {
+                    return "Email already exists: " + body.getEmail();
+                }
+                emailOwners.put(email, body);
+                body.setId(null);
+                plan.creates.add(body);
+                plan.createIndexes.add(index);
+                return null;
+            }
+            case UPDATE: {
+                Employee current = operation.getId() != null && !plan.deletes.contains(operation.getId())
+                        ? existing.get(operation.getId()) : null;
+                if (current == null) {
+                    return "Employee not found with id: " + operation.getId();
+                }
+                String error = validate(body);
+                if (error != null) {
+                    return error;
+                }
+                String email = normalize(body.getEmail());
+                Object owner = emailOwners.get(email);
+                if (owner != null && !operation.getId().equals(owner)) {
+                    return "Email already exists: " + body.getEmail();
+                }
+                Employee pending = plan.updates.get(operation.getId());
+                String released = pending != null ? pending.getEmail() : current.getEmail();
+                emailOwners.remove(normalize(released));
+                plan.releasedEmails.add(released);
+                emailOwners.put(email, operation.getId());
+                plan.storedEmails.putIfAbsent(operation.getId(), current.getEmail());
+                plan.updates.put(operation.getId(), body);
+                return null;
+            }
+            case DELETE: {
+                Employee current = operation.getId() != null && !plan.deletes.contains(operation.getId())
+                        ? existing.get(operation.getId()) : null;
+                if (current == null) {
+                    return "Employee not found with id: " + operation.getId();
+                }
+                Employee pending = plan.updates.remove(operation.getId());
+                String released = pending != null ? pending.getEmail() : current.getEmail();
+                emailOwners.remove(normalize(released));
+                plan.releasedEmails.add(released);
+                plan.deletes.add(operation.getId());
+                return null;
+            }
+            default:
+                return "Unsupported operation: " + operation.getOp();
+        }
+    }
+
+    // Deletes first and updates next, so emails they release are free for the inserts
+    private void write(ChunkPlan plan) {
+        if (!plan.deletes.isEmpty()) {
+            employeeRepository.deleteAllByIdInBatch(plan.deletes);
+        }
+
+        // UPDATEs are flushed in id order (hibernate.order_updates), not in request order, so a
+        // row taking over the email of another updated row, or a swap, would hit the unique
+        // constraint. Those emails are released first.
+        Set<String> claimed = plan.updates.values().stream()
+                .map(employee -> normalize(employee.getEmail()))
+                .collect(Collectors.toSet());
+        List<Long> releasing = new ArrayList<>();
+        plan.storedEmails.forEach((id, stored) -> {
+            Employee update = plan.updates.get(id);
+            if (update != null && claimed.contains(normalize(stored))
+                    && !normalize(update.getEmail()).equals(normalize(stored))) {
+                releasing.add(id);
+            }
+        });
+        if (!releasing.isEmpty()) {
+            batchWriter.releaseEmails(releasing);
+        }
+
+        Map<Long, Employee> managed = new LinkedHashMap<>();
+        for (Map.Entry<Long, Employee> update : plan.updates.entrySet()) {
+            Employee target = entityManager.find(Employee.class, update.getKey());
+            target.applyChanges(update.getValue());
+            managed.put(update.getKey(), target);
+        }
+        plan.updates = managed;
+        entityManager.flush();
+
+        batchWriter.insertAll(plan.creates);
+        for (int i = 0; i < plan.creates.size(); i++) {
+            plan.createResults.get(i).setId(plan.creates.get(i).getId());
+        }
+    }
+
+    private String validate(Employee employee) {
+        if (employee == null) {
+            return "Employee data is required";
+        }
+        if (employee.getEmail() == null) {
+            return "email: Email is required";
+        }
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class ChunkPlan {
+        private final List<Employee> creates = new ArrayList<>();
+        private final List<Integer> createIndexes = new ArrayList<>();
+        private List<EmployeeBatchResult> createResults;
+        private Map<Long, Employee> updates = new LinkedHashMap<>();
+        // Email each updated employee has in the database before the chunk
+        private final Map<Long, String> storedEmails = new HashMap<>();
+        private final Set<Long> deletes = new LinkedHashSet<>();
+        private final List<String> releasedEmails = new ArrayList<>();
+        private boolean failed;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ems.service;
+
+import com.ems.config.ReadWriteRoutingDataSource;
+import com.ems.dto.EmployeeFacets;
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.FacetAggregate;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.EmployeeSpecifications;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Facet counts for the employee list. The grouped aggregate behind them depends only on the
+ * search text and salary bounds (department and position are applied when rolling it up), so it
+ * is cached under those and the {@link DatasetVersion}: switching departments or paging reuses
+ * it, and any write makes the next request aggregate afresh. Aggregates that go into the cache
+ * are read from the primary, so a lagging replica cannot fill it with pre-write counts. At most
+ * {@code ems.facets.cache.max-entries} aggregates are kept; 0 disables the cache.
+ */
+@Service
+public class EmployeeFacetService {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ems.facets.cache.max-entries:200}")
+    private long cacheMaxEntries;
+
+    private Cache<String, List<FacetAggregate>> aggregates;
+
+    @PostConstruct
+    public void init() {
+        if (cacheMaxEntries > 0) {
+            aggregates = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxEntries)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, aggregates, "employee-facets");
+        }
+    }
+
+    public EmployeeFacets getFacets(EmployeeFilter filter) {
+        String search = filter.getSearch() != null ? filter.getSearch().trim() : "";
+        List<FacetAggregate> rows;
+        if (aggregates != null) {
+            String key = String.join("\n", String.valueOf(datasetVersion.current()), search,
+                    String.valueOf(filter.getMinSalary()), String.valueOf(filter.getMaxSalary()));
+            rows = aggregates.get(key, k -> ReadWriteRoutingDataSource.readFromPrimary(
+                    () -> aggregate(search, filter.getMinSalary(), filter.getMaxSalary())));
+        } else {
+            rows = aggregate(search, filter.getMinSalary(), filter.getMaxSalary());
+        }
+        return EmployeeFacets.from(rows, filter);
+    }
+
+    private List<FacetAggregate> aggregate(String search, Double minSalary, Double maxSalary) {
+        EmployeeFilter searchOnly = new EmployeeFilter(search, null, null, null, null);
+        return employeeRepository.aggregateFacets(EmployeeSpecifications.matching(searchOnly), minSalary, maxSalary);
+    }
+}
@@ -1,46 +1,176 @@
 package com.ems.service;
 
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.EmployeeProjection;
+import com.ems.dto.EmployeeStatistics;
+import com.ems.dto.KeysetCursor;
+import com.ems.dto.KeysetPage;
 import com.ems.entity.Employee;
 import com.ems.repository.EmployeeRepository;
+import com.ems.repository.EmployeeSpecifications;
+import com.ems.search.EmployeeEmailIndex;
+import com.ems.search.EmployeeSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Employee reads run in read-only transactions, which go to a read replica when
+ * {@code ems.datasource.routing.enabled} is set; writes and everything else use the primary.
+ */
 @Service
 public class EmployeeService {
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
-    // UPDATED METHOD - Now accepts all search parameters
-    public Page<Employee> getAllEmployees(int page, int size, String search, 
-                                         String department, String position, 
-                                         Double minSalary, Double maxSalary) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("firstName").ascending());
-        
-        // Use advanced search if any advanced filters are provided
-        if (department != null || position != null || minSalary != null || maxSalary != null) {
-            return employeeRepository.advancedSearch(search, department, position, minSalary, maxSalary, pageable);
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeeEmailIndex emailIndex;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Versioned writes use bulk UPDATE/DELETE statements unless the second-level cache is on,
+    // since those evict its whole employee region
+    @Value("${ems.l2-cache.enabled:false}")
+    private boolean secondLevelCache;
+
+    // "index" serves text searches from EmployeeSearchIndex, "jpql" always uses the LIKE queries
+    @Value("${ems.search.mode:index}")
+    private String searchMode;
+
+    @Transactional(readOnly = true)
+    public Page<Employee> getAllEmployees(int page, int size, EmployeeFilter filter) {
+        // Same order as the search index and the projected list, ties included
+        Pageable pageable = PageRequest.of(page, size, Sort.by("firstName", "id").ascending());
+        String search = filter.getSearch();
+
+        if (search != null && !search.trim().isEmpty() && "index".equals(searchMode) && searchIndex.isReady()) {
+            return searchWithIndex(search.trim(), filter, pageable);
         }
-        // Otherwise use basic search
-        else if (search != null && !search.trim().isEmpty()) {
-            return employeeRepository.searchEmployees(search.trim(), pageable);
+        return employeeRepository.findAll(EmployeeSpecifications.matching(filter), pageable);
+    }
+
+    // Projected list: the same rows and order, but only the requested columns
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllEmployees(int page, int size, EmployeeFilter filter,
+                                                     EmployeeProjection projection) {
+        Pageable pageable = PageRequest.of(page, size);
+        String search = filter.getSearch();
+
+        if (search != null && !search.trim().isEmpty() && "index".equals(searchMode) && searchIndex.isReady()) {
+            Page<Long> ids = searchIndex.search(search.trim(), filter.getDepartment(), filter.getPosition(),
+                    filter.getMinSalary(), filter.getMaxSalary(), pageable);
+            // The IN query returns the rows in database order; the page keeps the index order
+            Map<Long, Map<String, Object>> byId = employeeRepository.findMatching(
+                    EmployeeSpecifications.idIn(ids.getContent()), projection, 0, size).stream()
+                    .collect(Collectors.toMap(row -> (Long) row.get("id"), Function.identity()));
+            List<Map<String, Object>> rows = new ArrayList<>(ids.getNumberOfElements());
+            for (Long id : ids.getContent()) {
+                Map<String, Object> row = byId.get(id);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            return new PageImpl<>(rows, pageable, ids.getTotalElements());
+        }
+
+        Specification<Employee> matching = EmployeeSpecifications.matching(filter);
+        List<Map<String, Object>> rows = employeeRepository.findMatching(
+                matching, projection, (int) pageable.getOffset(), size);
+        return PageableExecutionUtils.getPage(rows, pageable, () -> employeeRepository.count(matching));
+    }
+
+    // Keyset mode: seeks past the cursor on (firstName, id) and fetches one extra row instead of counting
+    @Transactional(readOnly = true)
+    public KeysetPage<Employee> getEmployeesAfter(String after, int size, EmployeeFilter filter) {
+        return keysetPage(after, size, filter, employeeRepository::findMatching,
+                last -> new KeysetCursor(last.getFirstName(), last.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> getEmployeesAfter(String after, int size, EmployeeFilter filter,
+                                                             EmployeeProjection projection) {
+        return keysetPage(after, size, filter,
+                (spec, limit) -> employeeRepository.findMatching(spec, projection, 0, limit),
+                last -> new KeysetCursor((String) last.get("firstName"), (Long) last.get("id")));
+    }
+
+    private <T> KeysetPage<T> keysetPage(String after, int size, EmployeeFilter filter,
+                                         BiFunction<Specification<Employee>, Integer, List<T>> find,
+                                         Function<T, KeysetCursor> cursorOf) {
+        Specification<Employee> matching = EmployeeSpecifications.matching(filter);
+
+        List<T> rows;
+        if (after == null || after.isEmpty()) {
+            rows = find.apply(matching, size + 1);
         } else {
-            return employeeRepository.findAll(pageable);
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = new ArrayList<>(find.apply(
+                    matching.and(EmployeeSpecifications.sameFirstNameAfter(cursor.getFirstName(), cursor.getId())),
+                    size + 1));
+            if (rows.size() <= size) {
+                rows.addAll(find.apply(
+                        matching.and(EmployeeSpecifications.firstNameAfter(cursor.getFirstName())),
+                        size + 1 - rows.size()));
+            }
         }
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new KeysetPage<>(content, hasNext, nextCursor);
+    }
+
+    // Index lookup for the matching ids, then one IN query to hydrate just the requested page
+    private Page<Employee> searchWithIndex(String search, EmployeeFilter filter, Pageable pageable) {
+        Page<Long> ids = searchIndex.search(search, filter.getDepartment(), filter.getPosition(),
+                filter.getMinSalary(), filter.getMaxSalary(), pageable);
+        Map<Long, Employee> byId = employeeRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<Employee> employees = new ArrayList<>(ids.getNumberOfElements());
+        for (Long id : ids.getContent()) {
+            Employee employee = byId.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return new PageImpl<>(employees, pageable, ids.getTotalElements());
     }
 
     // Keep the old method for backward compatibility (optional)
     public Page<Employee> getAllEmployees(int page, int size, String search) {
-        return getAllEmployees(page, size, search, null, null, null, null);
+        return getAllEmployees(page, size, new EmployeeFilter(search, null, null, null, null));
     }
 
+    @Transactional(readOnly = true)
     public Employee getEmployeeById(Long id) {
         Optional<Employee> employee = employeeRepository.findById(id);
         return employee.orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
@@ -48,45 +178,172 @@ public class EmployeeService {
 
     public Employee saveEmployee(Employee employee) {
         // Check if email already exists (for new employees)
-        if (employee.getId() == null && employeeRepository.existsByEmail(employee.getEmail())) {
+        if (employee.getId() == null && emailExists(employee.getEmail())) {
             throw new RuntimeException("Email already exists: " + employee.getEmail());
         }
         
         // For updates, check if email exists for other employees
+        String previousEmail = null;
         if (employee.getId() != null) {
             Employee existing = getEmployeeById(employee.getId());
+            previousEmail = existing.getEmail();
             if (!existing.getEmail().equals(employee.getEmail()) && 
-                employeeRepository.existsByEmail(employee.getEmail())) {
+                emailExists(employee.getEmail(), employee.getId())) {
                 throw new RuntimeException("Email already exists: " + employee.getEmail());
             }
         }
         
-        return employeeRepository.save(employee);
+        Employee saved;
+        try {
+            saved = employeeRepository.save(employee);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent writer; the unique constraint caught it
+            throw new RuntimeException("Email already exists: " + employee.getEmail());
+        }
+        datasetVersion.increment();
+        emailIndex.replace(previousEmail, saved.getEmail());
+        searchIndex.index(saved);
+        return saved;
+    }
+
+    // Misses are answered by the in-memory index; possible hits by the natural-id lookup, which
+    // only reaches the database when the second-level cache is off or does not know the email
+    public boolean emailExists(String email) {
+        return emailIndex.mightContain(email) && employeeRepository.findIdByEmail(email) != null;
+    }
+
+    public boolean emailExists(String email, Long excludeId) {
+        if (excludeId == null) {
+            return emailExists(email);
+        }
+        if (!emailIndex.mightContain(email)) {
+            return false;
+        }
+        Long owner = employeeRepository.findIdByEmail(email);
+        return owner != null && !owner.equals(excludeId);
+    }
+
+    /**
+     * Applies the form fields of {@code changes} to employee {@code id} without the pre-reads of
+     * {@link #saveEmployee}. By default that is a conditional UPDATE instead of read-check-write,
+     * preceded only by a locking read of the current email (so the email index drops a replaced
+     * address), and the row is read back for the response. With the second-level cache on, the row is loaded from the cache instead and flushed with Hibernate's
+     * versioned UPDATE, so a concurrent writer fails either way. Returns null when there is no
+     * such employee; throws {@link ObjectOptimisticLockingFailureException} when
+     * {@code expectedVersion} is given and the employee has moved past it.
+     */
+    public Employee updateEmployee(Long id, Employee changes, Long expectedVersion) {
+        if (emailExists(changes.getEmail(), id)) {
+            throw new RuntimeException("Email already exists: " + changes.getEmail());
+        }
+
+        AtomicReference<String> previousEmail = new AtomicReference<>();
+        Employee saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                if (!secondLevelCache) {
+                    previousEmail.set(employeeRepository.findEmailForUpdate(id));
+                    if (previousEmail.get() == null) {
+                        return null;
+                    }
+                    if (employeeRepository.updateIfVersion(id, changes, expectedVersion) == 0) {
+                        // The row is locked, so it still exists: it has a newer version
+                        throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+                    }
+                    return employeeRepository.findById(id).orElse(null);
+                }
+                Employee employee = findIfVersion(id, expectedVersion);
+                if (employee == null) {
+                    return null;
+                }
+                previousEmail.set(employee.getEmail());
+                employee.applyChanges(changes);
+                return employeeRepository.saveAndFlush(employee);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent writer; the unique constraint caught it
+            throw new RuntimeException("Email already exists: " + changes.getEmail());
+        }
+        if (saved == null) {
+            return null;
+        }
+        datasetVersion.increment();
+        emailIndex.replace(previousEmail.get(), saved.getEmail());
+        searchIndex.index(saved);
+        return saved;
+    }
+
+    // Same statements and version checks as updateEmployee; false when there is no such employee
+    public boolean deleteEmployee(Long id, Long expectedVersion) {
+        if (!secondLevelCache) {
+            String email = transactionTemplate.execute(status -> {
+                String current = employeeRepository.findEmailForUpdate(id);
+                if (current != null && employeeRepository.deleteIfVersion(id, expectedVersion) == 0) {
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+                }
+                return current;
+            });
+            if (email == null) {
+                return false;
+            }
+            datasetVersion.increment();
+            emailIndex.remove(email);
+            searchIndex.remove(id);
+            return true;
+        }
+
+        Employee deleted = transactionTemplate.execute(status -> {
+            Employee employee = findIfVersion(id, expectedVersion);
+            if (employee != null) {
+                employeeRepository.delete(employee);
+                employeeRepository.flush();
+            }
+            return employee;
+        });
+        if (deleted == null) {
+            return false;
+        }
+        datasetVersion.increment();
+        emailIndex.remove(deleted.getEmail());
+        searchIndex.remove(id);
+        return true;
     }
 
-    public void deleteEmployee(Long id) {
-        if (!employeeRepository.existsById(id)) {
-            throw new RuntimeException("Employee not found with id: " + id);
+    private Employee findIfVersion(Long id, Long expectedVersion) {
+        Employee employee = employeeRepository.findById(id).orElse(null);
+        if (employee != null && expectedVersion != null && employee.getVersion() != expectedVersion) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
         }
-        employeeRepository.deleteById(id);
+        return employee;
     }
 
+    @Transactional(readOnly = true)
     public List<String> getDistinctDepartments() {
         return employeeRepository.findDistinctDepartments();
     }
 
+    @Transactional(readOnly = true)
     public List<String> getDistinctPositions() {
         return employeeRepository.findDistinctPositions();
     }
 
+    @Transactional(readOnly = true)
     public Page<Employee> getEmployeesByDepartment(String department, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("firstName").ascending());
         return employeeRepository.findByDepartment(department, pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployeesForExport() {
         return employeeRepository.findAll(Sort.by("firstName").ascending());
     }
+
+    @Transactional(readOnly = true)
+    public EmployeeStatistics getEmployeeStatistics() {
+        return EmployeeStatistics.from(employeeRepository.aggregateSalaries());
+    }
+
+    @Transactional(readOnly = true)
     public long getDepartmentCount() {
     return employeeRepository.findDistinctDepartments().size();
 }
@@ -0,0 +1,224 @@
+package com.ems.service;
+
+import com.ems.config.ReadWriteRoutingDataSource;
+import com.ems.dto.CachedExport;
+import com.ems.dto.EmployeeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rendered exports on disk, keyed by (format, filter, {@link DatasetVersion}). A request for
+ * unchanged data is answered from the file instead of scanning and rendering the table again;
+ * any write moves the version on, so stale files are never served. Files are rendered from the
+ * primary, never from a read replica that may not have the latest write yet. Concurrent misses
+ * for the same key wait for a single rendering. At most {@code ems.export.cache.max-entries}
+ * files are kept: files of older versions go first, then the least recently used. Requests
+ * lease the export they send, so an evicted file is only deleted after its last lease is given
+ * up plus {@code ems.export.cache.delete-grace-ms}.
+ */
+@Service
+public class ExportCacheService {
+
+    private static final Map<String, String> EXTENSIONS = Map.of("csv", ".csv", "excel", ".xlsx");
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ems.export.cache.dir:${java.io.tmpdir}/ems-export-cache}")
+    private String cacheDir;
+
+    @Value("${ems.export.cache.max-entries:20}")
+    private int maxEntries;
+
+    // Tomcat opens a sendfile only after the request has completed and its lease is released
+    @Value("${ems.export.cache.delete-grace-ms:5000}")
+    private long deleteGraceMillis;
+
+    private final Map<String, CompletableFuture<CachedExport>> entries = new ConcurrentHashMap<>();
+    // Evicted (or never cached) exports whose files are still to be deleted
+    private final Set<CachedExport> retired = ConcurrentHashMap.newKeySet();
+    // Every rendering gets its own file, so a late delete never hits a newer rendering of the same key
+    private final AtomicLong renderings = new AtomicLong();
+    private Path directory;
+
+    // Files left by a previous run belong to versions that can no longer be requested
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Files.createDirectories(Paths.get(cacheDir));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /** ETag of the export for the current dataset version; known without rendering anything. */
+    public String etag(String format, EmployeeFilter filter) {
+        return "\"" + key(format, filter, datasetVersion.current()) + "\"";
+    }
+
+    /**
+     * The export for the current dataset version, rendered first if it is not cached yet. The
+     * export is leased to the caller, who must {@link #release} it once the response is sent.
+     */
+    public CachedExport get(String format, EmployeeFilter filter) {
+        String extension = EXTENSIONS.get(format);
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        while (true) {
+            long version = datasetVersion.current();
+            String key = key(format, filter, version);
+
+            CompletableFuture<CachedExport> rendering = new CompletableFuture<>();
+            CompletableFuture<CachedExport> existing = entries.putIfAbsent(key, rendering);
+            if (existing != null) {
+                CachedExport cached = existing.join();
+                // Evicted meanwhile, or rendered while the data changed: look up the current version again
+                if (cached.getEtag() == null || !cached.acquire()) {
+                    entries.remove(key, existing);
+                    continue;
+                }
+                meterRegistry.counter("ems.export.cache.requests", "format", format, "result", "hit").increment();
+                cached.touch();
+                return cached;
+            }
+
+            meterRegistry.counter("ems.export.cache.requests", "format", format, "result", "miss").increment();
+            CachedExport cached;
+            try {
+                cached = ReadWriteRoutingDataSource.readFromPrimary(
+                        () -> render(format, filter, key, extension, version));
+            } catch (RuntimeException e) {
+                entries.remove(key);
+                rendering.completeExceptionally(e);
+                throw e;
+            }
+            cached.acquire();
+            if (cached.getEtag() == null) {
+                // Sent to this request only, then deleted like an evicted file
+                entries.remove(key, rendering);
+                retire(cached);
+            }
+            rendering.complete(cached);
+            evict();
+            return cached;
+        }
+    }
+
+    /** Gives up the lease taken by {@link #get}; an evicted file can be deleted once none are left. */
+    public void release(CachedExport export) {
+        export.release();
+        deleteRetired();
+    }
+
+    @Scheduled(fixedDelayString = "${ems.export.cache.cleanup-interval-ms:10000}")
+    public void deleteRetired() {
+        long graceNanos = TimeUnit.MILLISECONDS.toNanos(deleteGraceMillis);
+        for (CachedExport export : retired) {
+            if (export.isDeletable(graceNanos)) {
+                try {
+                    Files.deleteIfExists(export.getFile());
+                    retired.remove(export);
+                } catch (IOException e) {
+                    // Kept for the next sweep, e.g. while a platform refuses to delete an open file
+                    System.err.println("Failed to delete cached export: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private CachedExport render(String format, EmployeeFilter filter, String key, String extension, long version) {
+        Path file = directory.resolve(key + "-" + renderings.incrementAndGet() + extension);
+        Path part = directory.resolve(file.getFileName() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                if ("excel".equals(format)) {
+                    exportService.writeEmployeesToExcel(out, filter, rows -> { });
+                } else {
+                    exportService.writeEmployeesToCSV(out, filter, rows -> { });
+                }
+            }
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING);
+            // A write committed during rendering may be in the file, which then matches no version
+            String etag = datasetVersion.current() == version ? "\"" + key + "\"" : null;
+            return new CachedExport(file, Files.size(file), etag, version);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to cache export: " + e.getMessage(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // Only a leftover temp file; the next startup removes it
+            }
+        }
+    }
+
+    private void evict() {
+        long current = datasetVersion.current();
+        while (entries.size() > maxEntries) {
+            Optional<Map.Entry<String, CompletableFuture<CachedExport>>> victim = entries.entrySet().stream()
+                    .filter(entry -> entry.getValue().isDone() && !entry.getValue().isCompletedExceptionally())
+                    .min(Comparator.comparing((Map.Entry<String, CompletableFuture<CachedExport>> entry) ->
+                                    entry.getValue().join().getVersion() == current)
+                            .thenComparingLong(entry -> entry.getValue().join().getLastAccess()));
+            if (victim.isEmpty()) {
+                return;
+            }
+            if (entries.remove(victim.get().getKey(), victim.get().getValue())) {
+                retire(victim.get().getValue().join());
+            }
+        }
+        deleteRetired();
+    }
+
+    private void retire(CachedExport export) {
+        export.evict();
+        retired.add(export);
+    }
+
+    private static String key(String format, EmployeeFilter filter, long version) {
+        String identity = String.join("\n", format, String.valueOf(filter.getSearch()),
+                String.valueOf(filter.getDepartment()), String.valueOf(filter.getPosition()),
+                String.valueOf(filter.getMinSalary()), String.valueOf(filter.getMaxSalary()),
+                String.valueOf(version));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(identity.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
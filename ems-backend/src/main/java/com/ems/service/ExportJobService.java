@@ -0,0 +1,252 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.ExportJob;
+import com.ems.dto.ExportJobRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs exports in the background and keeps the results in a spool directory until they are
+ * downloaded. At most {@code ems.export.jobs.workers} exports run at once and
+ * {@code ems.export.jobs.queue-capacity} wait; further submissions are rejected rather than
+ * queued without bound, so export spikes cannot starve interactive requests of connections.
+ * Finished jobs and their files are removed {@code ems.export.jobs.ttl-minutes} after they end.
+ * Job state is kept in memory; files of a previous run are swept by the same TTL.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Map<String, String> EXTENSIONS = Map.of("csv", ".csv", "ndjson", ".ndjson", "excel", ".xlsx");
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ems.export.jobs.workers:2}")
+    private int workers;
+
+    @Value("${ems.export.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${ems.export.jobs.max-active-per-user:3}")
+    private int maxActivePerUser;
+
+    @Value("${ems.export.jobs.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${ems.export.jobs.spool-dir:${java.io.tmpdir}/ems-exports}")
+    private String spoolDir;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Future<?>> running = new ConcurrentHashMap<>();
+    // owner -> unfinished jobs; taken before a job is registered, given back when it finishes
+    private final Map<String, Integer> activeByOwner = new ConcurrentHashMap<>();
+    private Path spool;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        spool = Files.createDirectories(Paths.get(spoolDir));
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("export-job-"));
+        executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "ems.export.jobs");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues an export for {@code owner}. Throws {@link IllegalArgumentException} for an unknown
+     * format, {@link IllegalStateException} when the owner already has the maximum number of
+     * unfinished jobs and {@link RejectedExecutionException} when the queue is full.
+     */
+    public ExportJob submit(String owner, ExportJobRequest request) {
+        String format = request.getFormat() != null ? request.getFormat().toLowerCase() : "csv";
+        String extension = EXTENSIONS.get(format);
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported export format: " + request.getFormat());
+        }
+        EmployeeFilter filter = request.getFilter() != null ? request.getFilter() : new EmployeeFilter();
+        if (filter.getMinSalary() != null && filter.getMaxSalary() != null
+                && filter.getMinSalary() > filter.getMaxSalary()) {
+            throw new IllegalArgumentException("minSalary must not be greater than maxSalary");
+        }
+
+        // Counted and checked in one step, so concurrent submissions cannot both take the last slot
+        if (activeByOwner.merge(owner, 1, Integer::sum) > maxActivePerUser) {
+            release(owner);
+            throw new IllegalStateException("At most " + maxActivePerUser + " exports can be pending per user");
+        }
+
+        String id = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(id, owner, format, filter, spool.resolve(id + extension));
+        // Registered before it is queued, so a fast worker cannot finish ahead of the registration
+        FutureTask<Void> task = new FutureTask<>(() -> run(job), null);
+        jobs.put(id, job);
+        running.put(id, task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            running.remove(id);
+            release(owner);
+            throw new RejectedExecutionException("Too many exports in progress, please retry later");
+        }
+        return job;
+    }
+
+    // Jobs are private to the user who submitted them; other users get null, as for a missing job
+    public ExportJob getJob(String owner, String id) {
+        ExportJob job = jobs.get(id);
+        return job != null && job.getOwner().equals(owner) ? job : null;
+    }
+
+    public List<ExportJob> getJobs(String owner) {
+        return jobs.values().stream()
+                .filter(job -> job.getOwner().equals(owner))
+                .sorted(Comparator.comparing(ExportJob::getCreatedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cancels a queued or running job (the worker stops at its next chunk) or, once the job has
+     * finished, discards it and its file. Returns null when the owner has no such job.
+     */
+    public ExportJob cancel(String owner, String id) {
+        ExportJob job = getJob(owner, id);
+        if (job == null) {
+            return null;
+        }
+        if (job.moveTo(ExportJob.Status.QUEUED, ExportJob.Status.CANCELLED)
+                || job.moveTo(ExportJob.Status.RUNNING, ExportJob.Status.CANCELLED)) {
+            release(owner);
+            Future<?> future = running.remove(id);
+            if (future != null) {
+                future.cancel(true);
+            }
+        } else {
+            jobs.remove(id);
+            deleteQuietly(job.getFile());
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${ems.export.jobs.cleanup-interval-ms:60000}")
+    public void removeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(ttlMinutes);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff);
+            if (expired) {
+                deleteQuietly(job.getFile());
+            }
+            return expired;
+        });
+
+        // Leftovers of jobs this instance no longer knows about, e.g. from before a restart
+        long cutoffMillis = System.currentTimeMillis() - Duration.ofMinutes(ttlMinutes).toMillis();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spool)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int dot = name.indexOf('.');
+                boolean known = dot > 0 && jobs.containsKey(name.substring(0, dot));
+                if (!known && Files.getLastModifiedTime(file).toMillis() < cutoffMillis) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to clean export spool " + spool + ": " + e.getMessage());
+        }
+    }
+
+    private void run(ExportJob job) {
+        if (!job.moveTo(ExportJob.Status.QUEUED, ExportJob.Status.RUNNING)) {
+            running.remove(job.getId());
+            return;
+        }
+        long start = System.nanoTime();
+        // Written under a temporary name so a download never sees a partial file
+        Path part = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try {
+            job.setTotalRows(exportService.countEmployees(job.getFilter()));
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                if ("excel".equals(job.getFormat())) {
+                    exportService.writeEmployeesToExcel(out, job.getFilter(), job::setRowsWritten);
+                } else if ("ndjson".equals(job.getFormat())) {
+                    exportService.writeEmployeesToNdjson(out, job.getFilter(), job::setRowsWritten);
+                } else {
+                    exportService.writeEmployeesToCSV(out, job.getFilter(), job::setRowsWritten);
+                }
+            }
+            Files.move(part, job.getFile(), StandardCopyOption.REPLACE_EXISTING);
+            job.setFileSize(Files.size(job.getFile()));
+            if (job.moveTo(ExportJob.Status.RUNNING, ExportJob.Status.COMPLETED)) {
+                release(job.getOwner());
+            } else {
+                deleteQuietly(job.getFile());
+            }
+        } catch (Exception e) {
+            // A cancelled job may fail in many ways once interrupted; it stays CANCELLED
+            if (job.getStatus() == ExportJob.Status.RUNNING) {
+                job.setError(e.getMessage());
+                if (job.moveTo(ExportJob.Status.RUNNING, ExportJob.Status.FAILED)) {
+                    release(job.getOwner());
+                }
+            }
+        } finally {
+            deleteQuietly(part);
+            running.remove(job.getId());
+            meterRegistry.timer("ems.export.jobs.duration", "format", job.getFormat(),
+                    "status", job.getStatus().name().toLowerCase())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Called once per job, by whoever moved it into a finished status
+    private void release(String owner) {
+        activeByOwner.computeIfPresent(owner, (key, active) -> active > 1 ? active - 1 : null);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Failed to delete export file " + file + ": " + e.getMessage());
+        }
+    }
+}
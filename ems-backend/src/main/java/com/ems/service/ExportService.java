@@ -1,30 +1,204 @@
 package com.ems.service;
 
+import com.ems.dto.EmployeeFilter;
 import com.ems.entity.Employee;
 import com.ems.repository.EmployeeRepository;
+import com.ems.repository.EmployeeSpecifications;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 @Service
 public class ExportService {
 
+    static final String[] HEADERS = {"ID", "First Name", "Last Name", "Email", "Phone",
+            "Department", "Position", "Salary", "Created Date"};
+
+    // Rows kept in memory by the streaming Excel writer before they are flushed to disk
+    static final int EXCEL_ROW_WINDOW = 100;
+
+    // Write buffer of the streaming CSV/NDJSON writers (and of a gzip stream around them)
+    public static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final int MAX_COLUMN_CHARS = 255;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Streams the CSV export of the employees matching {@code filter} straight into {@code out}.
+     * Rows are read through a forward-only cursor and the persistence context is cleared after
+     * every fetch-size chunk, so heap use stays flat regardless of table size. The caller owns
+     * (and closes) {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public void writeEmployeesToCSV(OutputStream out, EmployeeFilter filter) {
+        try (Stream<Employee> employees = employeeRepository.streamMatching(EmployeeSpecifications.matching(filter))) {
+            writeCSV(employees, out, "stream", rows -> { });
+        }
+    }
+
+    /**
+     * CSV export of the employees matching {@code filter}, for export jobs and the export cache.
+     * {@code progress} receives the running row count after every chunk; an interrupted thread
+     * stops the export at the next chunk with a {@link CancellationException}.
+     */
+    @Transactional(readOnly = true)
+    public void writeEmployeesToCSV(OutputStream out, EmployeeFilter filter, LongConsumer progress) {
+        try (Stream<Employee> employees = employeeRepository.streamMatching(EmployeeSpecifications.matching(filter))) {
+            writeCSV(employees, out, "file", progress);
+        }
+    }
+
+    private void writeCSV(Stream<Employee> employees, OutputStream out, String mode, LongConsumer progress) {
+        long start = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        try {
+            CSVPrinter csvPrinter = new CSVPrinter(new BufferedWriter(
+                    new OutputStreamWriter(counted, StandardCharsets.UTF_8), STREAM_BUFFER_SIZE), CSVFormat.DEFAULT);
+            csvPrinter.printRecord((Object[]) HEADERS);
+
+            long rows = 0;
+            int rowsInChunk = 0;
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                csvPrinter.printRecord(toRecord(iterator.next()));
+                rows++;
+                if (++rowsInChunk == EmployeeRepository.STREAM_FETCH_SIZE) {
+                    endChunk(rows, progress);
+                    rowsInChunk = 0;
+                }
+            }
+            csvPrinter.flush();
+            progress.accept(rows);
+            recordExport("csv", mode, rows, counted.count, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export CSV: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the employees matching {@code filter} as newline-delimited JSON, one object per
+     * line with the CSV columns as fields, read through the same cursor as the CSV export. The
+     * last line is {@code {"trailer":{"rows":n,"bytes":m}}}, where {@code bytes} counts the
+     * record lines before it, so consumers can tell a complete export from a truncated one.
+     */
+    @Transactional(readOnly = true)
+    public void writeEmployeesToNdjson(OutputStream out, EmployeeFilter filter) {
+        try (Stream<Employee> employees = employeeRepository.streamMatching(EmployeeSpecifications.matching(filter))) {
+            writeNdjson(employees, out, "stream", rows -> { });
+        }
+    }
+
+    // NDJSON counterpart of writeEmployeesToCSV(out, filter, progress)
+    @Transactional(readOnly = true)
+    public void writeEmployeesToNdjson(OutputStream out, EmployeeFilter filter, LongConsumer progress) {
+        try (Stream<Employee> employees = employeeRepository.streamMatching(EmployeeSpecifications.matching(filter))) {
+            writeNdjson(employees, out, "file", progress);
+        }
+    }
+
+    private void writeNdjson(Stream<Employee> employees, OutputStream out, String mode, LongConsumer progress) {
+        long start = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        try {
+            JsonGenerator json = JSON.createGenerator(new BufferedOutputStream(counted, STREAM_BUFFER_SIZE));
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            json.setRootValueSeparator(null);
+
+            long rows = 0;
+            int rowsInChunk = 0;
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                writeJsonRecord(json, iterator.next());
+                json.writeRaw('\n');
+                rows++;
+                if (++rowsInChunk == EmployeeRepository.STREAM_FETCH_SIZE) {
+                    endChunk(rows, progress);
+                    rowsInChunk = 0;
+                }
+            }
+            json.flush();
+            long bytes = counted.count;
+
+            json.writeStartObject();
+            json.writeObjectFieldStart("trailer");
+            json.writeNumberField("rows", rows);
+            json.writeNumberField("bytes", bytes);
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeRaw('\n');
+            json.close();
+
+            progress.accept(rows);
+            recordExport("ndjson", mode, rows, counted.count, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export NDJSON: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeJsonRecord(JsonGenerator json, Employee employee) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", employee.getId());
+        json.writeStringField("firstName", employee.getFirstName());
+        json.writeStringField("lastName", employee.getLastName());
+        json.writeStringField("email", employee.getEmail());
+        json.writeStringField("phoneNumber", employee.getPhoneNumber());
+        json.writeStringField("department", employee.getDepartment());
+        json.writeStringField("position", employee.getPosition());
+        if (employee.getSalary() != null) {
+            json.writeNumberField("salary", employee.getSalary());
+        } else {
+            json.writeNullField("salary");
+        }
+        json.writeStringField("createdAt", employee.getCreatedAt() != null ? employee.getCreatedAt().toString() : null);
+        json.writeEndObject();
+    }
+
     public ByteArrayInputStream exportEmployeesToCSV() {
+        long start = System.nanoTime();
         List<Employee> employees = employeeRepository.findAll(Sort.by("firstName").ascending());
         
         // Alternative approach without withHeader
@@ -34,28 +208,14 @@ public class ExportService {
              CSVPrinter csvPrinter = new CSVPrinter(new PrintWriter(out), format)) {
             
             // Manually write header
-            csvPrinter.printRecord("ID", "First Name", "Last Name", "Email", "Phone", 
-                                 "Department", "Position", "Salary", "Created Date");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+            csvPrinter.printRecord((Object[]) HEADERS);
             
             for (Employee employee : employees) {
-                List<String> data = Arrays.asList(
-                    String.valueOf(employee.getId()),
-                    employee.getFirstName(),
-                    employee.getLastName(),
-                    employee.getEmail(),
-                    employee.getPhoneNumber(),
-                    employee.getDepartment(),
-                    employee.getPosition(),
-                    String.valueOf(employee.getSalary()),
-                    employee.getCreatedAt() != null ? 
-                        employee.getCreatedAt().format(formatter) : "N/A"
-                );
-                csvPrinter.printRecord(data);
+                csvPrinter.printRecord(toRecord(employee));
             }
             
             csvPrinter.flush();
+            recordExport("csv", "buffered", employees.size(), out.size(), start);
             return new ByteArrayInputStream(out.toByteArray());
         } catch (IOException e) {
             throw new RuntimeException("Failed to export CSV: " + e.getMessage());
@@ -63,6 +223,7 @@ public class ExportService {
     }
 
     public ByteArrayInputStream exportEmployeesToExcel() {
+        long start = System.nanoTime();
         List<Employee> employees = employeeRepository.findAll(Sort.by("firstName").ascending());
         
         try (Workbook workbook = new XSSFWorkbook(); 
@@ -71,50 +232,188 @@ public class ExportService {
             Sheet sheet = workbook.createSheet("Employees");
             
             // Create header row
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "First Name", "Last Name", "Email", "Phone", 
-                        "Department", "Position", "Salary", "Created Date"};
-            
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerStyle.setFont(headerFont);
-            
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+            writeExcelHeader(workbook, sheet);
             
             // Create data rows
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
             int rowNum = 1;
             for (Employee employee : employees) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(employee.getId());
-                row.createCell(1).setCellValue(employee.getFirstName());
-                row.createCell(2).setCellValue(employee.getLastName());
-                row.createCell(3).setCellValue(employee.getEmail());
-                row.createCell(4).setCellValue(employee.getPhoneNumber());
-                row.createCell(5).setCellValue(employee.getDepartment());
-                row.createCell(6).setCellValue(employee.getPosition());
-                row.createCell(7).setCellValue(employee.getSalary());
-                if (employee.getCreatedAt() != null) {
-                    row.createCell(8).setCellValue(employee.getCreatedAt().format(formatter));
-                } else {
-                    row.createCell(8).setCellValue("N/A");
-                }
+                writeExcelRow(sheet.createRow(rowNum++), employee);
             }
             
             // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < HEADERS.length; i++) {
                 sheet.autoSizeColumn(i);
             }
             
             workbook.write(out);
+            recordExport("excel", "buffered", employees.size(), out.size(), start);
             return new ByteArrayInputStream(out.toByteArray());
         } catch (IOException e) {
             throw new RuntimeException("Failed to export Excel: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams the XLSX export of the employees matching {@code filter} straight into {@code out}.
+     * Only the last {@code EXCEL_ROW_WINDOW} rows are kept in memory; older rows are flushed to a
+     * compressed temp file. Column widths come from the running max cell length, since
+     * {@code autoSizeColumn} would need every row. The caller owns (and closes) {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public void writeEmployeesToExcel(OutputStream out, EmployeeFilter filter) {
+        try (Stream<Employee> employees = employeeRepository.streamMatching(EmployeeSpecifications.matching(filter))) {
+            writeExcel(employees, out, "stream", rows -> { });
+        }
+    }
+
+    // Excel counterpart of writeEmployeesToCSV(out, filter, progress)
+    @Transactional(readOnly = true)
+    public void writeEmployeesToExcel(OutputStream out, EmployeeFilter filter, LongConsumer progress) {
+        try (Stream<Employee> employees = employeeRepository.streamMatching(EmployeeSpecifications.matching(filter))) {
+            writeExcel(employees, out, "file", progress);
+        }
+    }
+
+    private void writeExcel(Stream<Employee> employees, OutputStream out, String mode, LongConsumer progress) {
+        long start = System.nanoTime();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        try {
+            Sheet sheet = workbook.createSheet("Employees");
+            writeExcelHeader(workbook, sheet);
+
+            int[] maxLengths = new int[HEADERS.length];
+            for (int i = 0; i < HEADERS.length; i++) {
+                maxLengths[i] = HEADERS[i].length();
+            }
+            // Measures cells as Excel shows them (1, not 1.0; 12345678, not 1.2345678E7)
+            DataFormatter formatter = new DataFormatter();
+
+            int rowNum = 1;
+            int rowsInChunk = 0;
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                Row row = sheet.createRow(rowNum++);
+                writeExcelRow(row, iterator.next());
+                trackCellLengths(row, maxLengths, formatter);
+                if (++rowsInChunk == EmployeeRepository.STREAM_FETCH_SIZE) {
+                    endChunk(rowNum - 1, progress);
+                    rowsInChunk = 0;
+                }
+            }
+
+            for (int i = 0; i < HEADERS.length; i++) {
+                sheet.setColumnWidth(i, Math.min(maxLengths[i] + 2, MAX_COLUMN_CHARS) * 256);
+            }
+
+            CountingOutputStream counted = new CountingOutputStream(out);
+            workbook.write(counted);
+            progress.accept(rowNum - 1);
+            recordExport("excel", mode, rowNum - 1, counted.count, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export Excel: " + e.getMessage(), e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    public long countEmployees(EmployeeFilter filter) {
+        return employeeRepository.count(EmployeeSpecifications.matching(filter));
+    }
+
+    // Detaches the chunk just written and gives export jobs their progress and cancellation point
+    private void endChunk(long rows, LongConsumer progress) {
+        entityManager.clear();
+        progress.accept(rows);
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Export cancelled after " + rows + " rows");
+        }
+    }
+
+    private void writeExcelHeader(Workbook workbook, Sheet sheet) {
+        Row headerRow = sheet.createRow(0);
+
+        CellStyle headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerStyle.setFont(headerFont);
+
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    private void writeExcelRow(Row row, Employee employee) {
+        row.createCell(0).setCellValue(employee.getId());
+        row.createCell(1).setCellValue(employee.getFirstName());
+        row.createCell(2).setCellValue(employee.getLastName());
+        row.createCell(3).setCellValue(employee.getEmail());
+        row.createCell(4).setCellValue(employee.getPhoneNumber());
+        row.createCell(5).setCellValue(employee.getDepartment());
+        row.createCell(6).setCellValue(employee.getPosition());
+        if (employee.getSalary() != null) {
+            row.createCell(7).setCellValue(employee.getSalary());
+        }
+        if (employee.getCreatedAt() != null) {
+            row.createCell(8).setCellValue(employee.getCreatedAt().format(DATE_FORMATTER));
+        } else {
+            row.createCell(8).setCellValue("N/A");
+        }
+    }
+
+    private void trackCellLengths(Row row, int[] maxLengths, DataFormatter formatter) {
+        for (Cell cell : row) {
+            int length = formatter.formatCellValue(cell).length();
+            int column = cell.getColumnIndex();
+            if (length > maxLengths[column]) {
+                maxLengths[column] = length;
+            }
+        }
+    }
+
+    private List<String> toRecord(Employee employee) {
+        return Arrays.asList(
+            String.valueOf(employee.getId()),
+            employee.getFirstName(),
+            employee.getLastName(),
+            employee.getEmail(),
+            employee.getPhoneNumber(),
+            employee.getDepartment(),
+            employee.getPosition(),
+            String.valueOf(employee.getSalary()),
+            employee.getCreatedAt() != null ?
+                employee.getCreatedAt().format(DATE_FORMATTER) : "N/A"
+        );
+    }
+
+    // Rows/s and bytes/s come from rate() over the counters
+    private void recordExport(String format, String mode, long rows, long bytes, long startNanos) {
+        Tags tags = Tags.of("format", format, "mode", mode);
+        meterRegistry.counter("ems.export.rows", tags).increment(rows);
+        meterRegistry.counter("ems.export.bytes", tags).increment(bytes);
+        meterRegistry.timer("ems.export.duration", tags).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.ems.service;
+
+import com.ems.dto.ImportResult;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeBatchWriter;
+import com.ems.repository.EmployeeRepository;
+import com.ems.search.EmployeeEmailIndex;
+import com.ems.search.EmployeeSearchIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of employees from CSV or XLSX files in the layout {@link ExportService} writes
+ * (the ID and Created Date columns are ignored). Rows are read as a stream and handled in
+ * chunks: each chunk is validated in parallel, checked for duplicate emails with one IN query,
+ * and inserted as a single JDBC batch.
+ */
+@Service
+public class ImportService {
+
+    static final String COUNTRY_CODE_HEADER = "Country Code";
+
+    private static final String[] REQUIRED_HEADERS = {"First Name", "Last Name", "Email", "Phone",
+            "Department", "Position"};
+
+    // Dialing codes offered by the employee form, longest first; used to split the phone number
+    // when the file has no Country Code column (exports don't write one)
+    private static final List<String> KNOWN_COUNTRY_CODES = List.of("+971", "+44", "+91", "+61", "+49",
+            "+33", "+81", "+86", "+55", "+34", "+39", "+82", "+52", "+27", "+65", "+31", "+46", "+41", "+1", "+7");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeBatchWriter batchWriter;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private EmployeeEmailIndex emailIndex;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${ems.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public ImportResult importEmployees(InputStream in, String filename) {
+        long start = System.currentTimeMillis();
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+
+        ImportSession session = new ImportSession();
+        if (name.endsWith(".csv")) {
+            readCsv(in, session);
+        } else if (name.endsWith(".xlsx")) {
+            readXlsx(in, session);
+        } else {
+            throw new IllegalArgumentException("Unsupported file type, expected .csv or .xlsx: " + filename);
+        }
+        session.finish();
+
+        session.result.setDurationMs(System.currentTimeMillis() - start);
+        return session.result;
+    }
+
+    private void readCsv(InputStream in, ImportSession session) {
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setIgnoreSurroundingSpaces(true)
+                .build();
+        try (CSVParser parser = format.parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))) {
+            for (CSVRecord record : parser) {
+                session.accept(record.getRecordNumber(), record.toList());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read CSV: " + e.getMessage(), e);
+        }
+    }
+
+    // Event (SAX) reader: the sheet XML is parsed row by row instead of building a workbook in memory
+    private void readXlsx(InputStream in, ImportSession session) {
+        Path spool = null;
+        try {
+            spool = Files.createTempFile("ems-import-", ".xlsx");
+            Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+
+            try (OPCPackage pkg = OPCPackage.open(spool.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                Iterator<InputStream> sheets = reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    return;
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                            new ReadOnlySharedStringsTable(pkg), new SheetRowHandler(session),
+                            new DataFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read Excel file: " + e.getMessage(), e);
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IllegalArgumentException("Invalid Excel file: " + e.getMessage());
+        } finally {
+            if (spool != null) {
+                try {
+                    Files.deleteIfExists(spool);
+                } catch (IOException ignored) {
+                    // temp file is left for the OS to clean up
+                }
+            }
+        }
+    }
+
+    private class ImportSession {
+        private final ImportResult result = new ImportResult();
+        private final Set<String> emailsInFile = new HashSet<>();
+        private Map<String, Integer> columns;
+        private List<RawRow> chunk = new ArrayList<>(chunkSize);
+
+        void accept(long rowNumber, List<String> values) {
+            if (columns == null) {
+                columns = mapHeader(values);
+                return;
+            }
+            if (values.stream().allMatch(value -> value == null || value.isBlank())) {
+                return;
+            }
+            chunk.add(new RawRow(rowNumber, values));
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        void finish() {
+            if (columns == null) {
+                throw new IllegalArgumentException("File is empty");
+            }
+            flush();
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<RawRow> rows = chunk;
+            chunk = new ArrayList<>(chunkSize);
+
+            // Mapping and bean validation are CPU-bound and independent per row
+            List<ParsedRow> parsed = rows.parallelStream()
+                    .map(row -> parse(row, columns))
+                    .collect(Collectors.toList());
+
+            List<ParsedRow> candidates = new ArrayList<>(parsed.size());
+            for (ParsedRow row : parsed) {
+                if (row.error != null) {
+                    result.addError(row.rowNumber, row.error);
+                } else if (!emailsInFile.add(normalize(row.employee.getEmail()))) {
+                    result.addError(row.rowNumber, "Duplicate email in file: " + row.employee.getEmail());
+                } else {
+                    candidates.add(row);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            // Only emails the index can't rule out need the IN query
+            List<String> possiblyTaken = candidates.stream()
+                    .map(row -> row.employee.getEmail())
+                    .filter(emailIndex::mightContain)
+                    .collect(Collectors.toList());
+            Set<String> existing = possiblyTaken.isEmpty() ? Collections.emptySet()
+                    : employeeRepository.findExistingEmails(possiblyTaken).stream()
+                            .map(ImportService::normalize)
+                            .collect(Collectors.toSet());
+
+            List<ParsedRow> accepted = new ArrayList<>(candidates.size());
+            for (ParsedRow row : candidates) {
+                if (existing.contains(normalize(row.employee.getEmail()))) {
+                    result.addError(row.rowNumber, "Email already exists: " + row.employee.getEmail());
+                } else {
+                    accepted.add(row);
+                }
+            }
+            insert(accepted);
+        }
+
+        private void insert(List<ParsedRow> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<Employee> employees = rows.stream().map(row -> row.employee).collect(Collectors.toList());
+            try {
+                batchWriter.insertAll(employees);
+                datasetVersion.increment();
+                result.addImported(employees.size());
+                employees.forEach(employee -> emailIndex.add(employee.getEmail()));
+                employees.forEach(searchIndex::index);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer took one of the emails; retry row by row to find which
+                for (ParsedRow row : rows) {
+                    try {
+                        batchWriter.insertAll(Collections.singletonList(row.employee));
+                        datasetVersion.increment();
+                        result.addImported(1);
+                        emailIndex.add(row.employee.getEmail());
+                        searchIndex.index(row.employee);
+                    } catch (DataIntegrityViolationException rowFailure) {
+                        result.addError(row.rowNumber, "Email already exists: " + row.employee.getEmail());
+                    }
+                }
+            }
+        }
+    }
+
+    private Map<String, Integer> mapHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (name != null) {
+                columns.put(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (String required : REQUIRED_HEADERS) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                missing.add(required);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private ParsedRow parse(RawRow row, Map<String, Integer> columns) {
+        Employee employee = new Employee();
+        employee.setFirstName(value(row, columns, "First Name"));
+        employee.setLastName(value(row, columns, "Last Name"));
+        employee.setEmail(value(row, columns, "Email"));
+        employee.setDepartment(value(row, columns, "Department"));
+        employee.setPosition(value(row, columns, "Position"));
+
+        String salary = value(row, columns, "Salary");
+        if (salary != null && !"null".equalsIgnoreCase(salary)) {
+            try {
+                employee.setSalary(Double.valueOf(salary));
+            } catch (NumberFormatException e) {
+                return ParsedRow.failed(row.rowNumber, "Invalid salary: " + salary);
+            }
+        }
+
+        String phone = value(row, columns, "Phone");
+        String countryCode = value(row, columns, COUNTRY_CODE_HEADER);
+        if (countryCode == null && phone != null) {
+            countryCode = KNOWN_COUNTRY_CODES.stream().filter(phone::startsWith).findFirst().orElse(null);
+        }
+        // Same normalization as Employee's @PrePersist, which the batch insert bypasses
+        if (phone != null && countryCode != null && !phone.startsWith("+")) {
+            phone = countryCode + phone;
+        }
+        employee.setPhoneNumber(phone);
+        employee.setCountryCode(countryCode);
+
+        if (employee.getEmail() == null) {
+            return ParsedRow.failed(row.rowNumber, "email: Email is required");
+        }
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (!violations.isEmpty()) {
+            return ParsedRow.failed(row.rowNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new ParsedRow(row.rowNumber, employee, null);
+    }
+
+    private static String value(RawRow row, Map<String, Integer> columns, String header) {
+        Integer index = columns.get(header.toLowerCase(Locale.ROOT));
+        if (index == null || index >= row.values.size()) {
+            return null;
+        }
+        String value = row.values.get(index);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class RawRow {
+        private final long rowNumber;
+        private final List<String> values;
+
+        RawRow(long rowNumber, List<String> values) {
+            this.rowNumber = rowNumber;
+            this.values = values;
+        }
+    }
+
+    private static class ParsedRow {
+        private final long rowNumber;
+        private final Employee employee;
+        private final String error;
+
+        ParsedRow(long rowNumber, Employee employee, String error) {
+            this.rowNumber = rowNumber;
+            this.employee = employee;
+            this.error = error;
+        }
+
+        static ParsedRow failed(long rowNumber, String error) {
+            return new ParsedRow(rowNumber, null, error);
+        }
+    }
+
+    // Collects the cells of each sheet row by column; row numbers are reported 1-based
+    private static class SheetRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ImportSession session;
+        private final List<String> values = new ArrayList<>();
+
+        SheetRowHandler(ImportSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            session.accept(rowNum + 1, new ArrayList<>(values));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            while (values.size() < column) {
+                values.add(null);
+            }
+            values.add(formattedValue);
+        }
+    }
+}
@@ -3,9 +3,19 @@ package com.ems.service;
 
 import com.ems.entity.User;
 import com.ems.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,11 +24,49 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ems.user-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${ems.user-cache.ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${jwt.version-check.enabled:true}")
+    private boolean versionCheckEnabled;
+
+    // username -> detached snapshot, shared by login, UserDetailsService and the token version check
+    private Cache<String, User> users;
+
+    @PostConstruct
+    public void init() {
+        if (cacheMaxSize > 0 && cacheTtlSeconds > 0) {
+            users = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        }
+    }
+
+    /**
+     * The user with the given username, or null. With the cache enabled every caller gets its own
+     * copy of the cached snapshot, so changing the result never changes what others read.
+     */
     public User findByUsername(String username) {
+        if (users != null) {
+            return copy(cached(username));
+        }
         Optional<User> userOptional = userRepository.findByUsername(username);
         return userOptional.orElse(null);
     }
 
+    private User cached(String username) {
+        return users.get(username, key -> copy(userRepository.findByUsername(key).orElse(null)));
+    }
+
     // Remove the findByEmail method for now to fix compilation
     // public User findByEmail(String email) {
     //     Optional<User> userOptional = userRepository.findByEmail(email);
@@ -34,6 +82,48 @@ public class UserService {
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        if (users != null) {
+            // The username is the immutable natural id, so it is the only key this user is cached under
+            users.invalidate(saved.getUsername());
+        }
+        return saved;
+    }
+
+    /**
+     * Whether a token issued with the given role and version still matches the stored user.
+     * Tokens go stale within the user cache TTL once the role changes or tokenVersion is bumped
+     * (to revoke them). With the check disabled every token is accepted until it expires.
+     */
+    public boolean isTokenCurrent(String username, String role, long version) {
+        if (!versionCheckEnabled) {
+            return true;
+        }
+        User user = users != null ? cached(username) : findByUsername(username);
+        return user != null && user.getRole().name().equals(role) && user.getTokenVersion() == version;
+    }
+
+    public Map<String, Object> getUserCacheStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("enabled", users != null);
+        if (users != null) {
+            CacheStats stats = users.stats();
+            statistics.put("size", users.estimatedSize());
+            statistics.put("hitCount", stats.hitCount());
+            statistics.put("missCount", stats.missCount());
+            statistics.put("hitRate", stats.hitRate());
+            statistics.put("evictionCount", stats.evictionCount());
+        }
+        return statistics;
+    }
+
+    private static User copy(User user) {
+        if (user == null) {
+            return null;
+        }
+        User copy = new User(user.getUsername(), user.getPassword(), user.getEmail(), user.getRole());
+        copy.setId(user.getId());
+        copy.setTokenVersion(user.getTokenVersion());
+        return copy;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,203 @@
+package com.ems.config;
+
+import com.ems.dto.CachedExport;
+import com.ems.dto.EmployeeFilter;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import com.ems.service.EmployeeFacetService;
+import com.ems.service.EmployeeService;
+import com.ems.service.ExportCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two embedded H2 databases as primary and replica. Replication is simulated by copying the
+ * primary into the replica before each test, so rows written afterwards exist on the primary
+ * only, as during replication lag. Until the first copy the replica database does not exist
+ * (IFEXISTS), so startup itself runs against an unavailable replica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ems_primary;DB_CLOSE_DELAY=-1",
+        "ems.datasource.routing.enabled=true",
+        "ems.datasource.routing.sticky-seconds=60",
+        "ems.datasource.routing.replica-retry-seconds=0",
+        "ems.datasource.replicas[0].jdbc-url=" + ReadReplicaRoutingTest.REPLICA_URL + ";IFEXISTS=TRUE",
+        "ems.datasource.replicas[0].username=sa",
+        "ems.datasource.replicas[0].maximum-pool-size=2",
+        "ems.datasource.replicas[0].connection-timeout=250"
+})
+class ReadReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:ems_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeFacetService facetService;
+
+    @Autowired
+    private ExportCacheService exportCacheService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private int created;
+
+    @BeforeEach
+    void replicate() {
+        employeeRepository.save(employee());
+        copyPrimaryToReplica();
+    }
+
+    private void copyPrimaryToReplica() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : primary.queryForList("SCRIPT", String.class)) {
+            if (!statement.startsWith("--")) {
+                replica.execute(statement);
+            }
+        }
+        awaitReplicaPool();
+    }
+
+    // After failing at startup the pool retries with a back-off of up to a few seconds
+    private void awaitReplicaPool() {
+        DataSource pool = routingDataSource.getResolvedDataSources().get(ReadWriteRoutingDataSource.replicaKey(0));
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (true) {
+            SQLException failure = null;
+            try (Connection connection = pool.getConnection()) {
+                if (connection.isValid(1)) {
+                    return;
+                }
+            } catch (SQLException e) {
+                failure = e;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Replica pool did not recover", failure);
+            }
+        }
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyWorkReadsTheReplica() {
+        long replicated = count(replica);
+        employeeRepository.save(employee());
+
+        signIn("reader");
+        assertEquals(replicated, employeeService.getAllEmployees(0, 10, replicationDepartment()).getTotalElements());
+        assertEquals(replicated + 1, count(new JdbcTemplate(primaryDataSource)));
+    }
+
+    @Test
+    void writersReadTheirOwnWritesFromThePrimary() {
+        long replicated = count(replica);
+
+        signIn("writer");
+        employeeService.saveEmployee(employee());
+        assertEquals(replicated + 1, employeeService.getAllEmployees(0, 10, replicationDepartment()).getTotalElements());
+        assertEquals(replicated, count(replica));
+
+        signIn("reader");
+        assertEquals(replicated, employeeService.getAllEmployees(0, 10, replicationDepartment()).getTotalElements());
+    }
+
+    // Facets and exports are cached under the dataset version, which moves on when the write
+    // commits on the primary: filled from the lagging replica, the old counts would outlive it
+    @Test
+    void versionKeyedCachesAreNotFilledFromALaggingReplica() throws Exception {
+        long replicated = count(replica);
+
+        signIn("writer");
+        employeeService.saveEmployee(employee());
+
+        signIn("reader");
+        assertEquals(replicated + 1, departmentFacet());
+        assertEquals(replicated + 1, exportedRows());
+
+        copyPrimaryToReplica();
+        assertEquals(replicated + 1, departmentFacet());
+        assertEquals(replicated + 1, exportedRows());
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() throws Exception {
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:ems_missing;IFEXISTS=TRUE", "sa", "");
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, List.of(missing), 5, 30);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection connection = routing.getConnection()) {
+            assertTrue(connection.getMetaData().getURL().contains("ems_primary"));
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private long departmentFacet() {
+        return facetService.getFacets(new EmployeeFilter(null, null, null, null, null)).getDepartments().stream()
+                .filter(facet -> "Replication".equals(facet.get("value")))
+                .mapToLong(facet -> (Long) facet.get("count"))
+                .sum();
+    }
+
+    // Rows of the cached CSV export, without the header
+    private long exportedRows() throws Exception {
+        CachedExport export = exportCacheService.get("csv", replicationDepartment());
+        try {
+            return Files.readAllLines(export.getFile()).size() - 1;
+        } finally {
+            exportCacheService.release(export);
+        }
+    }
+
+    private static long count(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM employees WHERE department = 'Replication'", Long.class);
+    }
+
+    private static EmployeeFilter replicationDepartment() {
+        return new EmployeeFilter(null, "Replication", null, null, null);
+    }
+
+    private Employee employee() {
+        int n = created++;
+        return new Employee("Rep" + n, "Lica", "replica" + System.nanoTime() + "@example.com",
+                "+1555" + String.format("%07d", n), "+1", "Replication", "Engineer", 60000.0);
+    }
+
+    private static void signIn(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
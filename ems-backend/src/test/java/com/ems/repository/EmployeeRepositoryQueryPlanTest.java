@@ -0,0 +1,374 @@
+package com.ems.repository;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.EmployeeProjection;
+import com.ems.entity.Employee;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs every EmployeeRepository query against a seeded H2 table, replays the SQL Hibernate
+ * actually sent through EXPLAIN ANALYZE and fails when a statement reads most of the table.
+ * Queries that scan by design are listed in {@link #fullScansByDesign()}.
+ */
+@DataJpaTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeRepositoryQueryPlanTest {
+
+    private static final int ROWS = 4000;
+    // A statement reading this many rows or more counts as a full scan
+    private static final int FULL_SCAN_ROWS = ROWS / 2;
+
+    private static final String[] FIRST_NAMES = {
+            "Aaron", "Bella", "Carlos", "Diana", "Ethan", "Fatima", "George", "Hana", "Ivan", "Julia",
+            "Kenji", "Laura", "Mohammed", "Nina", "Oscar", "Priya", "Quentin", "Rosa", "Samuel", "Tara"
+    };
+    private static final String[] DEPARTMENTS = {
+            "Engineering", "Finance", "HR", "IT", "Legal", "Marketing", "Operations", "Sales"
+    };
+    private static final String[] POSITIONS = {
+            "Analyst", "Architect", "Consultant", "Designer", "Developer",
+            "Director", "Engineer", "Intern", "Manager", "Specialist"
+    };
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @BeforeAll
+    void seed() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{
+                    FIRST_NAMES[i % FIRST_NAMES.length], "Employee" + i, "employee" + i + "@example.com",
+                    "+1555" + String.format("%07d", i), "+1",
+                    DEPARTMENTS[i % DEPARTMENTS.length], POSITIONS[(i / 3) % POSITIONS.length],
+                    30000.0 + (i * 7919L) % 120000, now, now, now
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO employees (first_name, last_name, email, phone_number, country_code, " +
+                "department, position, salary, hire_date, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+        // Planner statistics, as MySQL keeps them for InnoDB tables
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void defaultListReadsFirstNameIndexInOrder() {
+        List<Plan> plans = explain(() -> employeeRepository.findAll(PageRequest.of(5, 20, Sort.by("firstName"))));
+
+        assertUsesIndex(plans.get(0), "IDX_EMPLOYEES_FIRST_NAME_ID");
+        assertNoFullScan(plans);
+    }
+
+    @Test
+    void departmentFilterUsesDepartmentIndex() {
+        List<Plan> plans = explain(() -> employeeRepository.findByDepartment("IT", PageRequest.of(0, 20, Sort.by("firstName"))));
+
+        assertUsesIndex(plans.get(0), "IDX_EMPLOYEES_DEPARTMENT_FIRST_NAME_ID");
+        assertUsesIndex(plans.get(1), "IDX_EMPLOYEES_DEPARTMENT_FIRST_NAME_ID");
+        assertNoFullScan(plans);
+    }
+
+    @Test
+    void filteredListUsesDepartmentIndex() {
+        Specification<Employee> itDepartment = EmployeeSpecifications.matching(new EmployeeFilter(null, "IT", null, null, null));
+        List<Plan> plans = explain(() -> employeeRepository.findAll(itDepartment, PageRequest.of(0, 20, Sort.by("firstName"))));
+
+        assertUsesIndex(plans.get(0), "IDX_EMPLOYEES_DEPARTMENT_FIRST_NAME_ID");
+        assertNoFullScan(plans);
+    }
+
+    @Test
+    void keysetPagesSeekFirstNameIndex() {
+        Specification<Employee> all = EmployeeSpecifications.matching(new EmployeeFilter());
+
+        assertNoFullScan(explain(() -> employeeRepository.findMatching(all, 21)));
+        assertNoFullScan(explain(() -> employeeRepository.findMatching(
+                all.and(EmployeeSpecifications.sameFirstNameAfter("Julia", 1000L)), 21)));
+        assertNoFullScan(explain(() -> employeeRepository.findMatching(
+                all.and(EmployeeSpecifications.firstNameAfter("Julia")), 21)));
+    }
+
+    @Test
+    void filteredKeysetPagesStayBounded() {
+        Specification<Employee> itDepartment = EmployeeSpecifications.matching(new EmployeeFilter(null, "IT", null, null, null));
+
+        assertNoFullScan(explain(() -> employeeRepository.findMatching(itDepartment, 21)));
+        assertNoFullScan(explain(() -> employeeRepository.findMatching(
+                itDepartment.and(EmployeeSpecifications.sameFirstNameAfter("Julia", 1000L)), 21)));
+        assertNoFullScan(explain(() -> employeeRepository.findMatching(
+                itDepartment.and(EmployeeSpecifications.firstNameAfter("Julia")), 21)));
+    }
+
+    @Test
+    void projectedPagesSelectOnlyRequestedColumns() {
+        Specification<Employee> itDepartment = EmployeeSpecifications.matching(new EmployeeFilter(null, "IT", null, null, null));
+        EmployeeProjection projection = EmployeeProjection.parse("lastName,salary");
+        List<Plan> plans = explain(() -> employeeRepository.findMatching(itDepartment, projection, 40, 20));
+
+        String columns = plans.get(0).sql.toLowerCase();
+        columns = columns.substring(0, columns.indexOf(" from "));
+        assertTrue(columns.contains("last_name") && columns.contains("salary"), columns);
+        assertFalse(columns.contains("email") || columns.contains("created_at"), columns);
+        assertUsesIndex(plans.get(0), "IDX_EMPLOYEES_DEPARTMENT_FIRST_NAME_ID");
+        assertNoFullScan(plans);
+    }
+
+    @Test
+    void filteredExportReadsOnlyMatchingRows() {
+        Specification<Employee> itDepartment = EmployeeSpecifications.matching(new EmployeeFilter(null, "IT", null, null, null));
+        List<Plan> export = explain(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Employee> employees = employeeRepository.streamMatching(itDepartment)) {
+                employees.findFirst();
+            }
+        }));
+
+        assertUsesIndex(export.get(0), "IDX_EMPLOYEES_DEPARTMENT_FIRST_NAME_ID");
+        assertNoFullScan(export);
+    }
+
+    @Test
+    void distinctLookupsReadOneEntryPerValue() {
+        List<Plan> departments = explain(() -> employeeRepository.findDistinctDepartments());
+        List<Plan> positions = explain(() -> employeeRepository.findDistinctPositions());
+
+        assertUsesIndex(departments.get(0), "IDX_EMPLOYEES_DEPARTMENT_FIRST_NAME_ID");
+        assertUsesIndex(positions.get(0), "IDX_EMPLOYEES_POSITION_FIRST_NAME_ID");
+        assertNoFullScan(departments);
+        assertNoFullScan(positions);
+    }
+
+    @Test
+    void emailLookupsUseUniqueIndex() {
+        List<String> emails = List.of("employee1@example.com", "employee2000@example.com", "nobody@example.com");
+
+        assertNoFullScan(explain(() -> employeeRepository.existsByEmail("employee42@example.com")));
+        assertNoFullScan(explain(() -> employeeRepository.findIdByEmail("employee42@example.com")));
+        assertNoFullScan(explain(() -> employeeRepository.findExistingEmails(emails)));
+        assertNoFullScan(explain(() -> employeeRepository.findByEmailIn(emails)));
+    }
+
+    @Test
+    void idLookupsUsePrimaryKey() {
+        assertNoFullScan(explain(() -> employeeRepository.findById(42L)));
+        assertNoFullScan(explain(() -> employeeRepository.findAllById(List.of(1L, 2L, 3L))));
+    }
+
+    /**
+     * Statements that read the whole table on purpose. They are checked so the list stays honest:
+     * once one of them stops scanning it belongs in a test above.
+     */
+    @Test
+    void fullScansByDesign() {
+        // Substring search on five columns; the in-memory search index serves it in index mode
+        Specification<Employee> search = EmployeeSpecifications.matching(new EmployeeFilter("ana", null, null, null, null));
+        assertFullScan(explain(() -> employeeRepository.findAll(search, PageRequest.of(0, 20, Sort.by("firstName")))));
+        // One GROUP BY pass over every row for the statistics summary
+        assertFullScan(explain(() -> employeeRepository.aggregateSalaries()));
+        // Facet counts likewise, once per dataset version and search (EmployeeFacetService)
+        assertFullScan(explain(() -> employeeRepository.aggregateFacets(
+                EmployeeSpecifications.matching(new EmployeeFilter()), 50000.0, null)));
+        // Unfiltered exports and the index rebuilds read every row; the export at least needs no sort
+        List<Plan> export = explain(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Employee> employees = employeeRepository.streamMatching(
+                    EmployeeSpecifications.matching(new EmployeeFilter()))) {
+                employees.findFirst();
+            }
+        }));
+        assertUsesIndex(export.get(0), "IDX_EMPLOYEES_FIRST_NAME_ID");
+        assertFullScan(export);
+        assertFullScan(explain(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Employee> employees = employeeRepository.streamAllOrderByFirstName()) {
+                employees.findFirst();
+            }
+        })));
+        assertFullScan(explain(() -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+                emails.findFirst();
+            }
+        })));
+    }
+
+    // Runs the call, then replays each SELECT it issued through EXPLAIN ANALYZE
+    private List<Plan> explain(Runnable call) {
+        recorder.clear();
+        call.run();
+        List<StatementRecorder.Recorded> selects = recorder.statements().stream()
+                .filter(statement -> statement.sql.trim().toLowerCase().startsWith("select"))
+                .collect(Collectors.toList());
+        if (selects.isEmpty()) {
+            fail("No SELECT was issued");
+        }
+        List<Plan> plans = new ArrayList<>();
+        for (StatementRecorder.Recorded statement : selects) {
+            String plan = jdbcTemplate.query(connection -> {
+                PreparedStatement explain = connection.prepareStatement("EXPLAIN ANALYZE " + statement.sql);
+                for (Map.Entry<Integer, Object> parameter : statement.parameters.entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                return explain;
+            }, resultSet -> resultSet.next() ? resultSet.getString(1) : null);
+            plans.add(new Plan(statement.sql, plan));
+        }
+        return plans;
+    }
+
+    private static void assertUsesIndex(Plan plan, String index) {
+        assertTrue(plan.plan.toUpperCase().contains("PUBLIC." + index),
+                () -> "Expected " + index + " for: " + plan);
+    }
+
+    private static void assertNoFullScan(List<Plan> plans) {
+        for (Plan plan : plans) {
+            assertFalse(plan.isFullScan(), () -> "Full scan: " + plan);
+        }
+    }
+
+    private static void assertFullScan(List<Plan> plans) {
+        assertTrue(plans.stream().anyMatch(Plan::isFullScan),
+                () -> "Expected a full scan, no longer scanning: " + plans);
+    }
+
+    private static class Plan {
+        private final String sql;
+        private final String plan;
+
+        private Plan(String sql, String plan) {
+            this.sql = sql;
+            this.plan = plan;
+        }
+
+        private long rowsScanned() {
+            long rows = 0;
+            Matcher matcher = SCAN_COUNT.matcher(plan);
+            while (matcher.find()) {
+                rows += Long.parseLong(matcher.group(1));
+            }
+            return rows;
+        }
+
+        private boolean isFullScan() {
+            return plan.contains(".tableScan") || rowsScanned() >= FULL_SCAN_ROWS;
+        }
+
+        @Override
+        public String toString() {
+            return sql + "\n  plan: " + plan.replaceAll("\\s+", " ") + "\n  rows scanned: " + rowsScanned();
+        }
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    /**
+     * Wraps the DataSource so every executed PreparedStatement is kept with its bound parameters.
+     */
+    static class StatementRecorder implements BeanPostProcessor {
+
+        private final List<Recorded> statements = new CopyOnWriteArrayList<>();
+
+        List<Recorded> statements() {
+            return statements;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource ? proxy(DataSource.class, bean, null) : bean;
+        }
+
+        private Object proxy(Class<?> type, Object target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (sql != null) {
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (name.startsWith("execute")) {
+                        statements.add(new Recorded(sql, new TreeMap<>(parameters)));
+                    }
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection && method.getReturnType() == Connection.class) {
+                    return proxy(Connection.class, result, null);
+                }
+                if (result instanceof PreparedStatement && name.equals("prepareStatement")) {
+                    return proxy(PreparedStatement.class, result, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        static class Recorded {
+            private final String sql;
+            private final Map<Integer, Object> parameters;
+
+            Recorded(String sql, Map<Integer, Object> parameters) {
+                this.sql = sql;
+                this.parameters = parameters;
+            }
+        }
+    }
+}
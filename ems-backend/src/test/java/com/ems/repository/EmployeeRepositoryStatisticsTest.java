@@ -0,0 +1,74 @@
+package com.ems.repository;
+
+import com.ems.dto.EmployeeStatistics;
+import com.ems.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The statistics summary rolled up from {@link EmployeeRepository#aggregateSalaries()}, checked
+ * against the per-employee rules: headcount counts everyone, averages and salary ranges only
+ * employees that have a salary.
+ */
+@DataJpaTest
+class EmployeeRepositoryStatisticsTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private int created;
+
+    @Test
+    void employeesWithoutSalaryAreInNoSalaryRange() {
+        employeeRepository.saveAll(List.of(
+                employee("Engineering", 40000.0), employee("Engineering", null),
+                employee("Sales", 80000.0), employee("Sales", 120000.0), employee("Sales", null)));
+
+        EmployeeStatistics statistics = EmployeeStatistics.from(employeeRepository.aggregateSalaries());
+
+        assertEquals(5, statistics.getTotalEmployees());
+        assertEquals(80000.0, statistics.getAverageSalary());
+        assertEquals(40000.0, statistics.getMinSalary());
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("0-50k", 1L);
+        expected.put("50k-75k", 0L);
+        expected.put("75k-100k", 1L);
+        expected.put("100k+", 1L);
+        assertEquals(expected, distribution(statistics));
+    }
+
+    @Test
+    void bucketBoundsAreInclusiveBelow() {
+        employeeRepository.saveAll(List.of(
+                employee("HR", 0.0), employee("HR", 49999.99), employee("HR", 50000.0),
+                employee("HR", 75000.0), employee("HR", 100000.0)));
+
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("0-50k", 2L);
+        expected.put("50k-75k", 1L);
+        expected.put("75k-100k", 1L);
+        expected.put("100k+", 1L);
+        assertEquals(expected, distribution(EmployeeStatistics.from(employeeRepository.aggregateSalaries())));
+    }
+
+    private static Map<String, Long> distribution(EmployeeStatistics statistics) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map<String, Object> bucket : statistics.getSalaryDistribution()) {
+            counts.put((String) bucket.get("range"), (Long) bucket.get("count"));
+        }
+        return counts;
+    }
+
+    private Employee employee(String department, Double salary) {
+        int n = created++;
+        return new Employee("Stat" + n, "Employee", "stat" + n + "@example.com",
+                "+1555" + String.format("%07d", n), "+1", department, "Analyst", salary);
+    }
+}
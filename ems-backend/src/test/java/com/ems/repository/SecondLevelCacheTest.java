@@ -0,0 +1,123 @@
+package com.ems.repository;
+
+import com.ems.config.SecondLevelCacheConfig;
+import com.ems.entity.Employee;
+import com.ems.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read-heavy workload against the second-level cache: after one cold pass every id, email and
+ * username lookup is answered from the cache, and updates refresh single entries instead of
+ * invalidating the region. Each call runs in its own session, as requests do.
+ */
+@DataJpaTest(properties = {"ems.l2-cache.enabled=true", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final int EMPLOYEES = 100;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Employee> employees = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        employeeRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        employees.clear();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("First" + i, "Last" + i, "employee" + i + "@example.com",
+                    "+1555" + String.format("%07d", i), "+1", "IT", "Engineer", 50000.0 + i));
+        }
+        employeeRepository.saveAll(employees);
+        userRepository.save(new User("reader", "secret", "reader@example.com", User.Role.USER));
+
+        // Start cold, as after a restart
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void readHeavyWorkloadIsServedFromCache() {
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Employee employee : employees) {
+                assertTrue(employeeRepository.findById(employee.getId()).isPresent());
+                assertEquals(employee.getId(), employeeRepository.findIdByEmail(employee.getEmail()));
+            }
+            assertTrue(userRepository.findByUsername("reader").isPresent());
+            if (round == 0) {
+                // Cold pass: one statement per employee and one for the user, nothing for the
+                // email lookups, which resolve from the natural ids cached with the entities
+                assertEquals(EMPLOYEES + 1, statistics.getPrepareStatementCount());
+            }
+        }
+
+        // Warm passes issued no statements at all
+        assertEquals(EMPLOYEES + 1, statistics.getPrepareStatementCount());
+        CacheRegionStatistics entities = statistics.getDomainDataRegionStatistics("employees");
+        assertEquals(EMPLOYEES, entities.getMissCount());
+        assertEquals((long) (ROUNDS - 1) * EMPLOYEES, entities.getHitCount());
+        assertTrue(hitRatio(statistics.getDomainDataRegionStatistics("employees-by-email")) >= 0.99);
+        assertTrue(hitRatio(statistics.getDomainDataRegionStatistics("users")) >= 0.9);
+    }
+
+    @Test
+    void updatesRefreshTheirEntryWithoutEvictingOthers() {
+        employees.forEach(employee -> employeeRepository.findById(employee.getId()));
+        Employee target = employees.get(0);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Employee employee = employeeRepository.findById(target.getId()).orElseThrow();
+            employee.setSalary(99999.0);
+            employee.setEmail("renamed@example.com");
+            employeeRepository.saveAndFlush(employee);
+        });
+        long statementsAfterUpdate = statistics.getPrepareStatementCount();
+
+        Employee reloaded = employeeRepository.findById(target.getId()).orElseThrow();
+        assertEquals(99999.0, reloaded.getSalary());
+        assertEquals(1L, reloaded.getVersion());
+        assertEquals(target.getId(), employeeRepository.findIdByEmail("renamed@example.com"));
+        for (Employee employee : employees) {
+            assertTrue(employeeRepository.findById(employee.getId()).isPresent());
+        }
+        // The updated row and its new email were cached by the update itself
+        assertEquals(statementsAfterUpdate, statistics.getPrepareStatementCount());
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? 0 : (double) region.getHitCount() / requests;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ems.search;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.EmployeeSpecifications;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link EmployeeSearchIndex} on its own: the tests build their own index, only the comparison
+ * with {@link EmployeeSpecifications#matching} needs the database.
+ */
+@DataJpaTest
+class EmployeeSearchIndexTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+    @Test
+    void matchesShortAndLongQueries() {
+        index(1, "Smith", "Young");
+        index(2, "Smile", "Young");
+        index(3, "Mitch", "Young");
+        index(4, "Keith", "Young");
+        index(5, "Jo", "Hnson");
+
+        // Every trigram of "smith" has two postings; the candidates of the first one are verified
+        assertEquals(List.of(1L), ids("smith"));
+        assertEquals(List.of(1L), ids("SMITH"));
+        assertEquals(List.of(), ids("smithx"));
+        // Shorter than a trigram: the stored text is scanned
+        assertEquals(List.of(4L, 3L, 1L), ids("it"));
+        assertEquals(List.of(2L, 1L), ids("sm"));
+        // Matches never span two fields
+        assertEquals(List.of(), ids("john"));
+        assertEquals(List.of(5L), ids("hns"));
+        assertEquals(5, search("", 0, 10).getTotalElements());
+    }
+
+    @Test
+    void tiesAreOrderedByFirstNameIgnoringCaseThenId() {
+        index(5, "bob", "Young");
+        index(3, "Bob", "Young");
+        index(4, "alice", "Young");
+        index(1, "Carl", "Young");
+        index(2, "BOB", "Young");
+
+        assertEquals(List.of(4L, 2L, 3L, 5L, 1L), ids(""));
+        Page<Long> second = search("", 1, 2);
+        assertEquals(List.of(3L, 5L), second.getContent());
+        assertEquals(5, second.getTotalElements());
+    }
+
+    @Test
+    void removedAndReindexedEmployeesAreFoundByTheirCurrentText() {
+        index(1, "Smith", "Young");
+        index(2, "Smith", "Old");
+
+        index.remove(1L);
+        assertEquals(List.of(2L), ids("smith"));
+        assertEquals(1, index.size());
+
+        index(2, "Jones", "Old");
+        assertEquals(List.of(), ids("smith"));
+        assertEquals(List.of(2L), ids("jones"));
+
+        index(1, "Smith", "Young");
+        assertEquals(List.of(1L), ids("smith"));
+        assertEquals(2, index.size());
+        index.remove(3L);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void compactionKeepsTheResults() {
+        for (int i = 1; i <= 20_000; i++) {
+            index(i, "Name" + (i % 97), "Family" + (i % 89));
+        }
+        for (int i = 1; i <= 20_000; i += 2) {
+            index.remove((long) i);
+        }
+
+        // Half of the documents are tombstones, so they have been dropped
+        assertEquals(10_000, ((List<?>) ReflectionTestUtils.getField(index, "docs")).size());
+        assertEquals(10_000, index.size());
+        Page<Long> page = search("name42", 0, 5);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 2; id <= 20_000; id += 2) {
+            if (id % 97 == 42) {
+                expected.add(id);
+            }
+        }
+        assertEquals(expected.size(), page.getTotalElements());
+        assertEquals(expected.subList(0, 5), page.getContent());
+
+        // Documents appended after the compaction are numbered after the survivors
+        index(20_001, "Name42", "Family1");
+        assertEquals(expected.size() + 1, search("name42", 0, 5).getTotalElements());
+    }
+
+    @Test
+    void filtersMatchTheEmployeeSpecification() {
+        String[] firstNames = {"Anna", "Brian", "Smith", "Diana", "Ethan"};
+        String[] departments = {"Engineering", "Sales", "Finance"};
+        String[] positions = {"Manager", "Engineer"};
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Double salary = i % 7 == 0 ? null : 30000.0 + i * 1000;
+            employees.add(new Employee(firstNames[i % firstNames.length], "Surname" + (i % 4),
+                    "person" + i + "@example.com", "+1555" + String.format("%07d", i), "+1",
+                    departments[i % departments.length], positions[(i / 3) % positions.length], salary));
+        }
+        for (Employee employee : employeeRepository.saveAll(employees)) {
+            index.index(employee);
+        }
+
+        for (String search : Arrays.asList(null, "an", "smith", "ENGIN", "person1", "zz")) {
+            for (String department : Arrays.asList(null, "Engineering", "Sales")) {
+                for (String position : Arrays.asList(null, "Manager")) {
+                    for (Double minSalary : Arrays.asList(null, 50000.0)) {
+                        for (Double maxSalary : Arrays.asList(null, 50000.0, 80000.0)) {
+                            EmployeeFilter filter = new EmployeeFilter(search, department, position, minSalary, maxSalary);
+                            Set<Long> expected = employeeRepository.findAll(EmployeeSpecifications.matching(filter))
+                                    .stream().map(Employee::getId).collect(Collectors.toSet());
+                            Page<Long> actual = index.search(search, department, position, minSalary, maxSalary,
+                                    PageRequest.of(0, 100));
+                            assertEquals(expected, new HashSet<>(actual.getContent()),
+                                    () -> String.join(", ", search, department, position, minSalary + "", maxSalary + ""));
+                            assertEquals(expected.size(), actual.getTotalElements());
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(60, index.size());
+    }
+
+    private void index(long id, String firstName, String lastName) {
+        Employee employee = new Employee(firstName, lastName, "e" + id + "@x.io", null, null, "Ops", "Dev", 1000.0);
+        employee.setId(id);
+        index.index(employee);
+    }
+
+    private List<Long> ids(String query) {
+        return search(query, 0, 100).getContent();
+    }
+
+    private Page<Long> search(String query, int page, int size) {
+        return index.search(query, null, null, null, null, PageRequest.of(page, size));
+    }
+}
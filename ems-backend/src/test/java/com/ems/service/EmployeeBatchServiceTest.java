@@ -0,0 +1,167 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeBatchOperation;
+import com.ems.dto.EmployeeBatchResult;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Email handling of {@link EmployeeBatchService} within one chunk: the plan must accept what a
+ * sequential run of the operations would accept, and the writes must then get past the unique
+ * email constraint even though UPDATEs are flushed in id order.
+ */
+@SpringBootTest
+class EmployeeBatchServiceTest {
+
+    @Autowired
+    private EmployeeBatchService batchService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final String run = Long.toString(System.nanoTime(), 36);
+    private int created;
+
+    @Test
+    void lowerIdTakesTheEmailAHigherIdGaveUp() {
+        Employee first = employeeRepository.save(employee("first"));
+        Employee second = employeeRepository.save(employee("second"));
+        String secondEmail = second.getEmail();
+
+        List<EmployeeBatchResult> results = batchService.apply(List.of(
+                update(second.getId(), email("moved")),
+                update(first.getId(), secondEmail)), null);
+
+        assertStatuses(results, EmployeeBatchResult.Status.APPLIED, EmployeeBatchResult.Status.APPLIED);
+        assertEquals(secondEmail, employeeRepository.findById(first.getId()).orElseThrow().getEmail());
+        assertEquals(email("moved"), employeeRepository.findById(second.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void swapsEmails() {
+        Employee first = employeeRepository.save(employee("first"));
+        Employee second = employeeRepository.save(employee("second"));
+
+        // In request order each email is free by the time it is taken
+        List<EmployeeBatchResult> results = batchService.apply(List.of(
+                update(first.getId(), email("parked")),
+                update(second.getId(), first.getEmail()),
+                update(first.getId(), second.getEmail())), null);
+
+        assertStatuses(results, EmployeeBatchResult.Status.APPLIED, EmployeeBatchResult.Status.APPLIED,
+                EmployeeBatchResult.Status.APPLIED);
+        assertEquals(second.getEmail(), employeeRepository.findById(first.getId()).orElseThrow().getEmail());
+        assertEquals(first.getEmail(), employeeRepository.findById(second.getId()).orElseThrow().getEmail());
+        assertEquals(1, employeeRepository.findById(first.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void reusesTheEmailOfADeletedEmployee() {
+        Employee deleted = employeeRepository.save(employee("deleted"));
+        Employee renamed = employeeRepository.save(employee("renamed"));
+        Employee updated = employeeRepository.save(employee("updated"));
+
+        List<EmployeeBatchResult> results = batchService.apply(List.of(
+                delete(deleted.getId()),
+                create(deleted.getEmail()),
+                update(renamed.getId(), email("renamed-new")),
+                update(updated.getId(), renamed.getEmail())), null);
+
+        assertStatuses(results, EmployeeBatchResult.Status.APPLIED, EmployeeBatchResult.Status.APPLIED,
+                EmployeeBatchResult.Status.APPLIED, EmployeeBatchResult.Status.APPLIED);
+        assertFalse(employeeRepository.existsById(deleted.getId()));
+        assertNotNull(results.get(1).getId());
+        assertEquals(deleted.getEmail(), employeeRepository.findById(results.get(1).getId()).orElseThrow().getEmail());
+        assertEquals(renamed.getEmail(), employeeRepository.findById(updated.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void rejectsTakingAnEmailBeforeItIsGivenUp() {
+        Employee first = employeeRepository.save(employee("first"));
+        Employee second = employeeRepository.save(employee("second"));
+
+        List<EmployeeBatchResult> results = batchService.apply(List.of(
+                update(first.getId(), second.getEmail()),
+                update(second.getId(), first.getEmail())), null);
+
+        assertStatuses(results, EmployeeBatchResult.Status.FAILED, EmployeeBatchResult.Status.FAILED);
+        assertEquals(first.getEmail(), employeeRepository.findById(first.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void rejectsDuplicatesWithinTheChunk() {
+        Employee existing = employeeRepository.save(employee("existing"));
+        long before = employeeRepository.count();
+
+        List<EmployeeBatchResult> results = batchService.apply(List.of(
+                create(email("twice")),
+                create(email("twice").toUpperCase()),
+                update(existing.getId(), email("twice"))), null);
+
+        assertStatuses(results, EmployeeBatchResult.Status.SKIPPED, EmployeeBatchResult.Status.FAILED,
+                EmployeeBatchResult.Status.FAILED);
+        assertTrue(results.get(1).getError().startsWith("Email already exists"));
+        assertEquals(before, employeeRepository.count());
+        assertEquals(existing.getEmail(), employeeRepository.findById(existing.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void emailTakenInAnEarlierChunkIsRejectedInTheNext() {
+        Employee existing = employeeRepository.save(employee("existing"));
+
+        List<EmployeeBatchResult> results = batchService.apply(List.of(
+                update(existing.getId(), email("claimed")),
+                create(email("claimed"))), 1);
+
+        assertStatuses(results, EmployeeBatchResult.Status.APPLIED, EmployeeBatchResult.Status.FAILED);
+    }
+
+    private static void assertStatuses(List<EmployeeBatchResult> results, EmployeeBatchResult.Status... expected) {
+        assertEquals(List.of(expected), results.stream().map(EmployeeBatchResult::getStatus).collect(Collectors.toList()),
+                () -> results.stream().map(result -> String.valueOf(result.getError())).collect(Collectors.joining("; ")));
+    }
+
+    private EmployeeBatchOperation create(String email) {
+        return operation(EmployeeBatchOperation.Type.CREATE, null, employee(email));
+    }
+
+    private EmployeeBatchOperation update(Long id, String email) {
+        Employee body = employee("update");
+        body.setEmail(email);
+        return operation(EmployeeBatchOperation.Type.UPDATE, id, body);
+    }
+
+    private static EmployeeBatchOperation delete(Long id) {
+        return operation(EmployeeBatchOperation.Type.DELETE, id, null);
+    }
+
+    private static EmployeeBatchOperation operation(EmployeeBatchOperation.Type type, Long id, Employee employee) {
+        EmployeeBatchOperation operation = new EmployeeBatchOperation();
+        operation.setOp(type);
+        operation.setId(id);
+        operation.setEmployee(employee);
+        return operation;
+    }
+
+    private String email(String name) {
+        return name + "." + run + "@example.com";
+    }
+
+    private Employee employee(String nameOrEmail) {
+        int n = created++;
+        String email = nameOrEmail.contains("@") ? nameOrEmail : email(nameOrEmail);
+        return new Employee("Batch" + n, "Employee", email,
+                "+1555" + String.format("%07d", n), "+1", "Engineering", "Engineer", 60000.0);
+    }
+}
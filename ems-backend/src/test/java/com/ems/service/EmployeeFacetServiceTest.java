@@ -0,0 +1,110 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeFacets;
+import com.ems.dto.EmployeeFilter;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import com.ems.repository.EmployeeSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Facet counts against the list's own count for the same filter, and the dataset-version keyed
+ * cache behind them. Every employee here carries the test run's surname, which the filters
+ * search for, so rows of other tests do not count.
+ */
+@SpringBootTest
+class EmployeeFacetServiceTest {
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "HR", "IT", "Sales"};
+    private static final String[] POSITIONS = {"Analyst", "Engineer", "Manager"};
+
+    @Autowired
+    private EmployeeFacetService facetService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final String surname = "Facet" + Long.toString(System.nanoTime(), 36);
+    private int created;
+
+    @BeforeEach
+    void seed() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            employees.add(employee(DEPARTMENTS[i % DEPARTMENTS.length], POSITIONS[(i / 2) % POSITIONS.length],
+                    i % 11 == 0 ? null : 30000.0 + (i * 7919L) % 100000));
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @Test
+    void eachFacetDropsOnlyItsOwnFilter() {
+        EmployeeFilter filter = new EmployeeFilter(surname, "IT", "Engineer", 50000.0, 90000.0);
+        EmployeeFacets facets = facetService.getFacets(filter);
+
+        for (Map<String, Object> department : facets.getDepartments()) {
+            assertEquals(count(new EmployeeFilter(surname, (String) department.get("value"), "Engineer", 50000.0, 90000.0)),
+                    department.get("count"));
+        }
+        for (Map<String, Object> position : facets.getPositions()) {
+            assertEquals(count(new EmployeeFilter(surname, "IT", (String) position.get("value"), 50000.0, 90000.0)),
+                    position.get("count"));
+        }
+        assertEquals(DEPARTMENTS.length, facets.getDepartments().size());
+        assertEquals(POSITIONS.length, facets.getPositions().size());
+        // The salary facet drops the salary bounds; employees without a salary are in no range
+        for (Map<String, Object> range : facets.getSalaryRanges()) {
+            assertEquals(itEngineersEarning((Double) range.get("min"), (Double) range.get("max")), range.get("count"));
+        }
+    }
+
+    @Test
+    void writesChangeTheNextResult() {
+        EmployeeFilter filter = new EmployeeFilter(surname, "Sales", null, null, null);
+        long before = departmentCount(facetService.getFacets(filter), "Sales");
+        // Cached under the current dataset version; a write must move past it
+        assertEquals(before, departmentCount(facetService.getFacets(filter), "Sales"));
+
+        Employee added = employeeService.saveEmployee(employee("Sales", "Analyst", 55000.0));
+        assertEquals(before + 1, departmentCount(facetService.getFacets(filter), "Sales"));
+
+        assertTrue(employeeService.deleteEmployee(added.getId(), null));
+        assertEquals(before, departmentCount(facetService.getFacets(filter), "Sales"));
+    }
+
+    private long count(EmployeeFilter filter) {
+        return employeeRepository.count(EmployeeSpecifications.matching(filter));
+    }
+
+    // min <= salary < max
+    private long itEngineersEarning(double min, Double max) {
+        long upToMax = count(new EmployeeFilter(surname, "IT", "Engineer", min, max));
+        return max == null ? upToMax : upToMax - count(new EmployeeFilter(surname, "IT", "Engineer", max, max));
+    }
+
+    private static long departmentCount(EmployeeFacets facets, String department) {
+        return facets.getDepartments().stream()
+                .filter(facet -> department.equals(facet.get("value")))
+                .mapToLong(facet -> (Long) facet.get("count"))
+                .sum();
+    }
+
+    private Employee employee(String department, String position, Double salary) {
+        int n = created++;
+        return new Employee("Emp" + n, surname, "emp" + n + "." + surname.toLowerCase() + "@example.com",
+                "+1555" + String.format("%07d", n), "+1", department, position, salary);
+    }
+}
@@ -0,0 +1,150 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.dto.EmployeeProjection;
+import com.ems.entity.Employee;
+import com.ems.search.EmployeeEmailIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EmployeeServiceTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeEmailIndex emailIndex;
+
+    private final String run = Long.toString(System.nanoTime(), 36);
+    private int created;
+    private Statistics statistics;
+
+    @BeforeEach
+    void statistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Second-level cache off (the default): versioned writes are conditional statements, only
+    // the current email is read (and locked) before the employee is written
+    @Test
+    void versionedUpdateIsOneConditionalStatement() {
+        Employee saved = employeeService.saveEmployee(employee("Update"));
+        Employee changes = employee("Updated");
+
+        statistics.clear();
+        Employee updated = employeeService.updateEmployee(saved.getId(), changes, saved.getVersion());
+
+        assertEquals(changes.getEmail(), updated.getEmail());
+        assertEquals(saved.getVersion() + 1, updated.getVersion());
+        // The email lookup, the UPDATE and the read-back for the response; Hibernate flushed no entity
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertFalse(emailIndex.mightContain(saved.getEmail()));
+        assertTrue(emailIndex.mightContain(updated.getEmail()));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> employeeService.updateEmployee(saved.getId(), employee("Stale"), saved.getVersion()));
+        assertNull(employeeService.updateEmployee(Long.MAX_VALUE, employee("Missing"), null));
+    }
+
+    @Test
+    void versionedDeleteIsOneConditionalStatement() {
+        Employee saved = employeeService.saveEmployee(employee("Delete"));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> employeeService.deleteEmployee(saved.getId(), saved.getVersion() + 1));
+
+        statistics.clear();
+        assertTrue(employeeService.deleteEmployee(saved.getId(), saved.getVersion()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertFalse(emailIndex.mightContain(saved.getEmail()));
+
+        assertFalse(employeeService.deleteEmployee(saved.getId(), null));
+    }
+
+    @Test
+    void projectedSearchKeepsTheIndexOrder() {
+        // Inserted out of order, so the ids (and the IN query's row order) disagree with the list order
+        for (String firstName : List.of("charlie", "Bravo", "alpha", "delta")) {
+            Employee employee = employee(firstName);
+            employee.setLastName("Order" + run);
+            employeeService.saveEmployee(employee);
+        }
+
+        Page<Map<String, Object>> page = employeeService.getAllEmployees(0, 3,
+                new EmployeeFilter("order" + run, null, null, null, null), EmployeeProjection.parse("email"));
+
+        assertEquals(List.of("alpha", "Bravo", "charlie"),
+                page.getContent().stream().map(row -> row.get("firstName")).collect(Collectors.toList()));
+        assertEquals(4, page.getTotalElements());
+    }
+
+    // The search index and the LIKE queries return the same pages for the same data
+    @Test
+    void indexAndDatabaseSearchAgree() {
+        String department = "Mode" + run;
+        List<String> firstNames = List.of("bob", "Bob", "alice", "BOB", "Al_ice", "100%", "Alice", "al%ice");
+        for (int i = 0; i < firstNames.size(); i++) {
+            Employee employee = employee(firstNames.get(i));
+            employee.setEmail("mode" + i + "." + run + "@example.com");
+            employee.setDepartment(department);
+            employeeService.saveEmployee(employee);
+        }
+
+        for (String search : List.of("mode", "_", "%", "l_i", "l%i", "BO", "alice", "0%")) {
+            EmployeeFilter filter = new EmployeeFilter(search, department, null, null, null);
+            for (int page = 0; page < 3; page++) {
+                List<Long> index = ids(page, filter);
+                List<String> indexNames = firstNames(page, filter);
+                ReflectionTestUtils.setField(employeeService, "searchMode", "jpql");
+                try {
+                    assertEquals(ids(page, filter), index, search + ", page " + page);
+                    assertEquals(firstNames(page, filter), indexNames, search + ", page " + page);
+                } finally {
+                    ReflectionTestUtils.setField(employeeService, "searchMode", "index");
+                }
+            }
+        }
+        assertEquals(List.of("Al_ice"), firstNames(0, new EmployeeFilter("l_i", department, null, null, null)));
+        assertEquals(List.of("100%", "al%ice"), firstNames(0, new EmployeeFilter("%", department, null, null, null)));
+    }
+
+    private List<Long> ids(int page, EmployeeFilter filter) {
+        return employeeService.getAllEmployees(page, 3, filter).getContent().stream()
+                .map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private List<String> firstNames(int page, EmployeeFilter filter) {
+        return employeeService.getAllEmployees(page, 3, filter, EmployeeProjection.parse("email")).getContent()
+                .stream().map(row -> (String) row.get("firstName")).collect(Collectors.toList());
+    }
+
+    private Employee employee(String firstName) {
+        int n = created++;
+        return new Employee(firstName, "Service", firstName.toLowerCase() + "." + run + "@example.com",
+                "+1555" + String.format("%07d", n), "+1", "Engineering", "Engineer", 60000.0);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ems.service;
+
+import com.ems.dto.CachedExport;
+import com.ems.dto.EmployeeFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * The export cache without the controller: {@link #served} takes and gives up the lease the way
+ * a request does.
+ */
+@SpringBootTest(properties = {
+        "ems.export.cache.max-entries=2",
+        "ems.export.cache.delete-grace-ms=0",
+        "ems.export.cache.dir=${java.io.tmpdir}/ems-export-cache-test"
+})
+class ExportCacheServiceTest {
+
+    @Autowired
+    private ExportCacheService exportCache;
+
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private ExportService exportService;
+
+    private final String run = Long.toString(System.nanoTime(), 36);
+
+    @Test
+    void unchangedDataIsServedFromTheRenderedFile() {
+        EmployeeFilter filter = filter("hit");
+        double hits = requests("hit");
+        double misses = requests("miss");
+
+        CachedExport first = served("csv", filter);
+        CachedExport second = served("csv", filter);
+
+        assertSame(first, second);
+        assertEquals(misses + 1, requests("miss"));
+        assertEquals(hits + 1, requests("hit"));
+        assertEquals(first.getEtag(), exportCache.etag("csv", filter));
+        assertNotEquals(first.getFile(), served("excel", filter).getFile());
+    }
+
+    @Test
+    void aWriteMovesToANewFile() {
+        EmployeeFilter filter = filter("write");
+        CachedExport before = served("csv", filter);
+
+        datasetVersion.increment();
+        CachedExport after = served("csv", filter);
+
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        // Only two entries fit; the one of the old version went first
+        served("csv", filter("other"));
+        assertFalse(Files.exists(before.getFile()));
+        assertTrue(Files.exists(after.getFile()));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedFileOfTheCurrentVersion() {
+        CachedExport used = served("csv", filter("used"));
+        CachedExport unused = served("csv", filter("unused"));
+        served("csv", filter("used"));
+
+        CachedExport added = served("csv", filter("added"));
+
+        assertTrue(Files.exists(used.getFile()));
+        assertFalse(Files.exists(unused.getFile()));
+        assertTrue(Files.exists(added.getFile()));
+        assertSame(used, served("csv", filter("used")));
+    }
+
+    @Test
+    void anEvictedFileIsKeptWhileARequestIsSendingIt() throws Exception {
+        // Leased and not released yet, as while the response is being written
+        CachedExport sending = exportCache.get("csv", filter("sending"));
+        served("csv", filter("second"));
+        served("csv", filter("third"));
+
+        assertTrue(Files.exists(sending.getFile()));
+        assertEquals(sending.getSize(), Files.size(sending.getFile()));
+        // The next request renders it again, into a file of its own
+        CachedExport again = served("csv", filter("sending"));
+        assertNotEquals(sending.getFile(), again.getFile());
+
+        exportCache.release(sending);
+        assertFalse(Files.exists(sending.getFile()));
+        assertTrue(Files.exists(again.getFile()));
+    }
+
+    @Test
+    void anExportRenderedDuringAWriteIsNotCached() {
+        EmployeeFilter filter = filter("racing");
+        AtomicBoolean write = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (write.getAndSet(false)) {
+                datasetVersion.increment();
+            }
+            return invocation.callRealMethod();
+        }).when(exportService).writeEmployeesToCSV(any(), eq(filter), any());
+
+        CachedExport racing = exportCache.get("csv", filter);
+        assertNull(racing.getEtag());
+        assertTrue(Files.exists(racing.getFile()));
+        exportCache.release(racing);
+        assertFalse(Files.exists(racing.getFile()));
+
+        CachedExport current = served("csv", filter);
+        assertNotNull(current.getEtag());
+        assertEquals(current.getEtag(), exportCache.etag("csv", filter));
+        assertSame(current, served("csv", filter));
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        assertThrows(IllegalArgumentException.class, () -> exportCache.get("pdf", filter("pdf")));
+    }
+
+    private CachedExport served(String format, EmployeeFilter filter) {
+        CachedExport export = exportCache.get(format, filter);
+        exportCache.release(export);
+        return export;
+    }
+
+    private EmployeeFilter filter(String name) {
+        return new EmployeeFilter(name + run, null, null, null, null);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("ems.export.cache.requests", "format", "csv", "result", result).count();
+    }
+}
@@ -0,0 +1,216 @@
+package com.ems.service;
+
+import com.ems.dto.ExportJob;
+import com.ems.dto.ExportJobRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lifecycle of background export jobs. The export itself is stubbed: it writes a header and then
+ * blocks until the test lets it finish, so jobs can be observed while they run.
+ */
+@SpringBootTest(properties = {
+        "ems.export.jobs.workers=2",
+        "ems.export.jobs.max-active-per-user=2",
+        "ems.export.jobs.ttl-minutes=0",
+        "ems.export.jobs.cleanup-interval-ms=3600000",
+        "ems.export.jobs.spool-dir=${java.io.tmpdir}/ems-export-jobs-test"
+})
+class ExportJobServiceTest {
+
+    @Autowired
+    private ExportJobService exportJobs;
+
+    @MockBean
+    private ExportService exportService;
+
+    @Value("${ems.export.jobs.spool-dir}")
+    private String spoolDir;
+
+    private final String owner = "exporter-" + Long.toString(System.nanoTime(), 36);
+    private CountDownLatch finish;
+
+    @BeforeEach
+    void stubExport() throws Exception {
+        finish = new CountDownLatch(1);
+        when(exportService.countEmployees(any())).thenReturn(1L);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("id\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            finish.await();
+            out.write("1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).writeEmployeesToCSV(any(), any(), any());
+    }
+
+    @AfterEach
+    void finishExports() {
+        finish.countDown();
+    }
+
+    @Test
+    void completedJobKeepsOnlyTheFinalFile() throws Exception {
+        ExportJob job = exportJobs.submit(owner, request());
+        Path part = part(job);
+        await(() -> Files.exists(part));
+        assertFalse(Files.exists(job.getFile()));
+
+        finish.countDown();
+        await(() -> job.getStatus() == ExportJob.Status.COMPLETED);
+
+        assertEquals("id\n1\n", Files.readString(job.getFile()));
+        assertEquals(job.getFileSize(), Files.size(job.getFile()));
+        assertFalse(Files.exists(part));
+    }
+
+    @Test
+    void cancellingARunningJobRemovesItsPartialFile() throws Exception {
+        ExportJob job = exportJobs.submit(owner, request());
+        Path part = part(job);
+        await(() -> Files.exists(part));
+
+        assertSame(job, exportJobs.cancel(owner, job.getId()));
+
+        assertEquals(ExportJob.Status.CANCELLED, job.getStatus());
+        await(() -> !Files.exists(part));
+        assertFalse(Files.exists(job.getFile()));
+        // Cancelling again discards the finished job
+        assertSame(job, exportJobs.cancel(owner, job.getId()));
+        assertNull(exportJobs.getJob(owner, job.getId()));
+    }
+
+    @Test
+    void jobsAreOnlyVisibleToTheirOwner() {
+        ExportJob job = exportJobs.submit(owner, request());
+
+        assertNull(exportJobs.getJob("someone-else", job.getId()));
+        assertNull(exportJobs.cancel("someone-else", job.getId()));
+        assertTrue(exportJobs.getJobs("someone-else").isEmpty());
+        assertSame(job, exportJobs.getJob(owner, job.getId()));
+        assertEquals(List.of(job), exportJobs.getJobs(owner));
+    }
+
+    @Test
+    void concurrentSubmissionsCannotExceedThePerUserLimit() throws Exception {
+        ExecutorService submitters = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Callable<ExportJob>> submissions = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                submissions.add(() -> {
+                    start.await();
+                    return exportJobs.submit(owner, request());
+                });
+            }
+            List<Future<ExportJob>> results = new ArrayList<>();
+            for (Callable<ExportJob> submission : submissions) {
+                results.add(submitters.submit(submission));
+            }
+            start.countDown();
+
+            List<ExportJob> accepted = new ArrayList<>();
+            int rejected = 0;
+            for (Future<ExportJob> result : results) {
+                try {
+                    accepted.add(result.get(10, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException);
+                    rejected++;
+                }
+            }
+            assertEquals(2, accepted.size());
+            assertEquals(6, rejected);
+
+            // A finished job gives its slot back
+            exportJobs.cancel(owner, accepted.get(0).getId());
+            ExportJob next = exportJobs.submit(owner, request());
+            assertThrows(IllegalStateException.class, () -> exportJobs.submit(owner, request()));
+            exportJobs.cancel(owner, next.getId());
+        } finally {
+            submitters.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredJobsAndOrphanedFilesAreSwept() throws Exception {
+        ExportJob job = exportJobs.submit(owner, request());
+        finish.countDown();
+        await(() -> job.getStatus() == ExportJob.Status.COMPLETED);
+        Path orphan = Paths.get(spoolDir).resolve("orphan-" + owner + ".csv");
+        Files.writeString(orphan, "id\n");
+        Files.setLastModifiedTime(orphan, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+
+        // With a TTL of 0 minutes everything that has finished is expired
+        Thread.sleep(5);
+        exportJobs.removeExpired();
+
+        assertNull(exportJobs.getJob(owner, job.getId()));
+        assertFalse(Files.exists(job.getFile()));
+        assertFalse(Files.exists(orphan));
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        ExportJobRequest request = request();
+        request.setFormat("pdf");
+        assertThrows(IllegalArgumentException.class, () -> exportJobs.submit(owner, request));
+    }
+
+    private static ExportJobRequest request() {
+        ExportJobRequest request = new ExportJobRequest();
+        request.setFormat("csv");
+        return request;
+    }
+
+    private static Path part(ExportJob job) {
+        return job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
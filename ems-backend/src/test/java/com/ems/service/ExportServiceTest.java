@@ -0,0 +1,46 @@
+package com.ems.service;
+
+import com.ems.dto.EmployeeFilter;
+import com.ems.entity.Employee;
+import com.ems.repository.EmployeeRepository;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final String surname = "Width" + Long.toString(System.nanoTime(), 36);
+
+    // Widths follow the displayed text plus two characters of padding
+    @Test
+    void excelColumnWidthsFollowTheDisplayedValues() throws Exception {
+        Employee saved = employeeRepository.save(new Employee("Wide", surname, surname.toLowerCase() + "@example.com",
+                "+15550000000", "+1", "Engineering", "Engineer", 12345678.0));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeEmployeesToExcel(out, new EmployeeFilter(surname, null, null, null, null));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(1, sheet.getLastRowNum());
+            int idLength = Math.max("ID".length(), String.valueOf(saved.getId()).length());
+            assertEquals((idLength + 2) * 256, sheet.getColumnWidth(0));
+            // "12345678", not "1.2345678E7"
+            assertEquals(("12345678".length() + 2) * 256, sheet.getColumnWidth(7));
+        }
+    }
+}
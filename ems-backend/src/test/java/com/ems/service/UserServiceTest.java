@@ -0,0 +1,58 @@
+package com.ems.service;
+
+import com.ems.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The username cache in front of {@link UserService}: callers never share the cached instance,
+ * and a saved user is read back as saved.
+ */
+@SpringBootTest
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    private final String run = Long.toString(System.nanoTime(), 36);
+
+    @Test
+    void callersGetTheirOwnCopy() {
+        User saved = userService.save(user("copy"));
+
+        User first = userService.findByUsername(saved.getUsername());
+        first.setRole(User.Role.ADMIN);
+        first.setTokenVersion(7);
+
+        User second = userService.findByUsername(saved.getUsername());
+        assertNotSame(first, second);
+        assertEquals(User.Role.USER, second.getRole());
+        assertEquals(0, second.getTokenVersion());
+        assertTrue(userService.isTokenCurrent(saved.getUsername(), "USER", 0));
+    }
+
+    @Test
+    void savingAUserReplacesTheCachedEntry() {
+        User saved = userService.save(user("revoke"));
+        assertTrue(userService.isTokenCurrent(saved.getUsername(), "USER", 0));
+
+        User user = userService.findByUsername(saved.getUsername());
+        user.setTokenVersion(1);
+        userService.save(user);
+
+        assertEquals(1, userService.findByUsername(saved.getUsername()).getTokenVersion());
+        assertFalse(userService.isTokenCurrent(saved.getUsername(), "USER", 0));
+        assertNull(userService.findByUsername("missing-" + run));
+    }
+
+    private User user(String name) {
+        return new User(name + "-" + run, "secret", name + "." + run + "@example.com", User.Role.USER);
+    }
+}
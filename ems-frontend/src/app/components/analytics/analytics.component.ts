@@ -1,7 +1,7 @@
 // src/app/components/analytics/analytics.component.ts
 import { Component, OnInit, ViewChild } from '@angular/core';
 import { EmployeeService } from '../../services/employee.service';
-import { Employee } from '../../models/employee.model';
+import { EmployeeStatistics } from '../../models/employee.model';
 import { BaseChartDirective } from 'ng2-charts';
 
 @Component({
@@ -13,7 +13,7 @@ export class AnalyticsComponent implements OnInit {
   @ViewChild(BaseChartDirective) chart?: BaseChartDirective;
 
   loading = false;
-  employees: Employee[] = [];
+  statistics: EmployeeStatistics | null = null;
 
   // Analytics Data
   analytics = {
@@ -88,9 +88,9 @@ export class AnalyticsComponent implements OnInit {
   loadAnalytics(): void {
     this.loading = true;
 
-    this.employeeService.searchEmployees(0, 1000).subscribe({
-      next: (response) => {
-        this.employees = response.content || [];
+    this.employeeService.getEmployeeStatistics().subscribe({
+      next: (statistics) => {
+        this.statistics = statistics;
         this.calculateAnalytics();
         this.prepareCharts();
         this.loading = false;
@@ -105,86 +105,43 @@ export class AnalyticsComponent implements OnInit {
   }
 
   calculateAnalytics(): void {
-    const employees = this.employees;
+    const statistics = this.statistics;
 
-    if (!employees || employees.length === 0) {
+    if (!statistics || statistics.totalEmployees === 0) {
       this.initializeEmptyAnalytics();
       return;
     }
 
-    // Basic stats
-    this.analytics.totalEmployees = employees.length;
-    this.analytics.totalSalary = employees.reduce(
-      (sum, emp) => sum + (emp.salary || 0),
-      0
-    );
-    this.analytics.averageSalary =
-      employees.length > 0 ? this.analytics.totalSalary / employees.length : 0;
-
-    // Department statistics
-    const departmentMap = new Map();
-    const positionMap = new Map();
-
-    employees.forEach((employee) => {
-      if (!employee.department) return;
-
-      // Department stats
-      if (departmentMap.has(employee.department)) {
-        departmentMap.set(
-          employee.department,
-          departmentMap.get(employee.department) + 1
-        );
-      } else {
-        departmentMap.set(employee.department, 1);
-      }
-
-      // Position stats
-      if (employee.position) {
-        if (positionMap.has(employee.position)) {
-          positionMap.set(
-            employee.position,
-            positionMap.get(employee.position) + 1
-          );
-        } else {
-          positionMap.set(employee.position, 1);
-        }
-      }
-    });
+    // Basic stats (aggregated server-side)
+    const total = statistics.totalEmployees;
+    this.analytics.totalEmployees = total;
+    this.analytics.totalSalary = statistics.totalSalary;
+    this.analytics.averageSalary = statistics.averageSalary;
+    this.analytics.totalDepartments = statistics.totalDepartments;
+
+    this.analytics.departmentStats = statistics.departments.map((dept) => ({
+      name: dept.name,
+      count: dept.count,
+      averageSalary: dept.averageSalary,
+      percentage: (dept.count / total) * 100,
+    }));
+
+    this.analytics.positionStats = statistics.positions.map((pos) => ({
+      name: pos.name,
+      count: pos.count,
+      percentage: (pos.count / total) * 100,
+    }));
 
-    this.analytics.departmentStats = Array.from(departmentMap.entries()).map(
-      ([name, count]) => ({
-        name,
-        count,
-        percentage: (count / employees.length) * 100,
-      })
-    );
-
-    this.analytics.positionStats = Array.from(positionMap.entries()).map(
-      ([name, count]) => ({
-        name,
-        count,
-        percentage: (count / employees.length) * 100,
+    // Salary distribution
+    this.analytics.salaryDistribution = statistics.salaryDistribution.map(
+      (bucket) => ({
+        range: bucket.range,
+        min: bucket.min,
+        max: bucket.max ?? Infinity,
+        count: bucket.count,
       })
     );
 
-    this.analytics.totalDepartments = departmentMap.size;
-
-    // Salary distribution
-    const salaryRanges = [
-      { range: '0-50k', min: 0, max: 50000, count: 0 },
-      { range: '50k-75k', min: 50000, max: 75000, count: 0 },
-      { range: '75k-100k', min: 75000, max: 100000, count: 0 },
-      { range: '100k+', min: 100000, max: Infinity, count: 0 },
-    ];
-
-    employees.forEach((employee) => {
-      const salary = employee.salary || 0;
-      const range = salaryRanges.find((r) => salary >= r.min && salary < r.max);
-      if (range) range.count++;
-    });
-
-    this.analytics.salaryDistribution = salaryRanges;
-
     // Recent hires (last 30 days - mock data for demo)
     this.analytics.recentHires = Math.floor(Math.random() * 5) + 1;
   }
@@ -221,16 +178,9 @@ export class AnalyticsComponent implements OnInit {
     };
 
     // Salary Chart (Bar chart for average salary by department)
-    const departmentSalaries = this.analytics.departmentStats.map((dept) => {
-      const deptEmployees = this.employees.filter(
-        (emp) => emp.department === dept.name
-      );
-      if (deptEmployees.length === 0) return 0;
-      return (
-        deptEmployees.reduce((sum, emp) => sum + (emp.salary || 0), 0) /
-        deptEmployees.length
-      );
-    });
+    const departmentSalaries = this.analytics.departmentStats.map(
+      (dept) => dept.averageSalary
+    );
 
     this.salaryChartData = {
       labels: this.analytics.departmentStats.map((dept) => dept.name),
@@ -307,14 +257,10 @@ export class AnalyticsComponent implements OnInit {
   }
 
   getDepartmentAverageSalary(department: string): number {
-    const deptEmployees = this.employees.filter(
-      (emp) => emp.department === department
-    );
-    if (deptEmployees.length === 0) return 0;
-    return (
-      deptEmployees.reduce((sum, emp) => sum + (emp.salary || 0), 0) /
-      deptEmployees.length
+    const dept = this.analytics.departmentStats.find(
+      (stats) => stats.name === department
     );
+    return dept ? dept.averageSalary : 0;
   }
 
   // Initialize empty charts when no data is available
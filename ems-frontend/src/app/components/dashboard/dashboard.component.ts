@@ -99,22 +99,12 @@ export class DashboardComponent implements OnInit {
 
   loadDashboardStats(): void {
     this.loading = true;
-    this.employeeService.searchEmployees(0, 1000).subscribe({
-      next: (response) => {
-        const employees = response.content;
-        this.stats.totalEmployees = response.totalElements;
-        this.stats.totalSalary = employees.reduce(
-          (sum: number, emp: any) => sum + (emp.salary || 0),
-          0
-        );
-        this.stats.avgSalary =
-          employees.length > 0 ? this.stats.totalSalary / employees.length : 0;
-
-        // Calculate unique departments
-        const departments = new Set(
-          employees.map((emp: any) => emp.department)
-        );
-        this.stats.totalDepartments = departments.size;
+    this.employeeService.getEmployeeStatistics().subscribe({
+      next: (statistics) => {
+        this.stats.totalEmployees = statistics.totalEmployees;
+        this.stats.totalSalary = statistics.totalSalary;
+        this.stats.avgSalary = statistics.averageSalary;
+        this.stats.totalDepartments = statistics.totalDepartments;
 
         // Mock recent hires (last 7 days)
         this.stats.recentHires = Math.floor(Math.random() * 5) + 2;
@@ -1,7 +1,16 @@
 import { Component, Inject, OnInit } from '@angular/core';
-import { FormBuilder, FormGroup, Validators } from '@angular/forms';
+import {
+  AbstractControl,
+  AsyncValidatorFn,
+  FormBuilder,
+  FormGroup,
+  ValidationErrors,
+  Validators,
+} from '@angular/forms';
 import { MatDialogRef, MAT_DIALOG_DATA } from '@angular/material/dialog';
 import { MatSnackBar } from '@angular/material/snack-bar';
+import { Observable, of, timer } from 'rxjs';
+import { catchError, map, switchMap } from 'rxjs/operators';
 import { EmployeeService } from '../../services/employee.service';
 import {
   Employee,
@@ -19,6 +28,8 @@ export class EmployeeFormComponent implements OnInit {
   employeeForm: FormGroup;
   isEdit = false;
   loading = false;
+  // Version of the employee being edited, checked by the server on save
+  version?: number;
   departments: string[] = [];
   positions: string[] = [];
   countryCodes = COUNTRY_CODES;
@@ -67,7 +78,11 @@ export class EmployeeFormComponent implements OnInit {
           Validators.maxLength(50),
         ],
       ],
-      email: ['', [Validators.required, Validators.email]],
+      email: [
+        '',
+        [Validators.required, Validators.email],
+        [this.emailAvailableValidator()],
+      ],
       countryCode: ['+1', Validators.required], // Default to USA/Canada
       phoneNumber: [
         '',
@@ -81,32 +96,42 @@ export class EmployeeFormComponent implements OnInit {
 
   loadFormData(): void {
     if (this.isEdit && this.data) {
-      // Extract country code and phone number from existing data
-      let countryCode = '+1';
-      let phoneNumber = this.data.phoneNumber;
+      // List rows carry only the listed columns; the form needs the whole employee
+      this.employeeService
+        .getEmployeeById(this.data.id!)
+        .subscribe((employee) => {
+          this.version = employee.version;
+          this.patchForm(employee);
+        });
+    }
+  }
 
-      // If we have a country code field from backend, use it
-      if (this.data.countryCode) {
-        countryCode = this.data.countryCode;
-        phoneNumber = this.data.phoneNumber.replace(countryCode, '');
-      } else {
-        // Extract from phone number string
-        const extracted = extractCountryCode(this.data.phoneNumber);
-        countryCode = extracted.countryCode;
-        phoneNumber = extracted.number;
-      }
+  patchForm(employee: Employee): void {
+    // Extract country code and phone number from existing data
+    let countryCode = '+1';
+    let phoneNumber = employee.phoneNumber;
 
-      this.employeeForm.patchValue({
-        firstName: this.data.firstName,
-        lastName: this.data.lastName,
-        email: this.data.email,
-        countryCode: countryCode,
-        phoneNumber: phoneNumber,
-        department: this.data.department,
-        position: this.data.position,
-        salary: this.data.salary,
-      });
+    // If we have a country code field from backend, use it
+    if (employee.countryCode) {
+      countryCode = employee.countryCode;
+      phoneNumber = employee.phoneNumber.replace(countryCode, '');
+    } else {
+      // Extract from phone number string
+      const extracted = extractCountryCode(employee.phoneNumber);
+      countryCode = extracted.countryCode;
+      phoneNumber = extracted.number;
     }
+
+    this.employeeForm.patchValue({
+      firstName: employee.firstName,
+      lastName: employee.lastName,
+      email: employee.email,
+      countryCode: countryCode,
+      phoneNumber: phoneNumber,
+      department: employee.department,
+      position: employee.position,
+      salary: employee.salary,
+    });
   }
 
   loadFilters(): void {
@@ -132,7 +157,11 @@ export class EmployeeFormComponent implements OnInit {
       };
 
       const operation = this.isEdit
-        ? this.employeeService.updateEmployee(this.data.id!, employeeData)
+        ? this.employeeService.updateEmployee(
+            this.data.id!,
+            employeeData,
+            this.version
+          )
         : this.employeeService.createEmployee(employeeData);
 
       operation.subscribe({
@@ -162,6 +191,21 @@ export class EmployeeFormComponent implements OnInit {
     }
   }
 
+  // Debounced as-you-type check against the server; a failed check leaves the field valid
+  private emailAvailableValidator(): AsyncValidatorFn {
+    return (control: AbstractControl): Observable<ValidationErrors | null> => {
+      const email = (control.value || '').trim();
+      if (!email || (this.isEdit && email === this.data.email)) {
+        return of(null);
+      }
+      return timer(300).pipe(
+        switchMap(() => this.employeeService.emailExists(email, this.data?.id)),
+        map((exists) => (exists ? { emailTaken: true } : null)),
+        catchError(() => of(null))
+      );
+    };
+  }
+
   onCancel(): void {
     this.dialogRef.close(false);
   }
@@ -5,7 +5,12 @@ import { MatSort } from '@angular/material/sort';
 import { MatDialog } from '@angular/material/dialog';
 import { MatSnackBar } from '@angular/material/snack-bar';
 import { EmployeeService } from '../../services/employee.service';
-import { Employee, EmployeeSearchCriteria } from '../../models/employee.model';
+import {
+  Employee,
+  EmployeeSearchCriteria,
+  FacetValue,
+  SalaryDistributionBucket,
+} from '../../models/employee.model';
 import { EmployeeFormComponent } from '../employee-form/employee-form.component';
 
 @Component({
@@ -29,8 +34,9 @@ export class EmployeeListComponent implements OnInit {
 
   // Advanced Search
   searchCriteria: EmployeeSearchCriteria = {};
-  departments: string[] = [];
-  positions: string[] = [];
+  departments: FacetValue[] = [];
+  positions: FacetValue[] = [];
+  salaryRanges: SalaryDistributionBucket[] = [];
   showAdvancedSearch = false;
 
   // Pagination
@@ -49,7 +55,6 @@ export class EmployeeListComponent implements OnInit {
 
   ngOnInit(): void {
     this.loadEmployees();
-    this.loadFilters();
   }
 
   ngAfterViewInit(): void {
@@ -60,11 +65,22 @@ export class EmployeeListComponent implements OnInit {
   loadEmployees(): void {
     this.loading = true;
     this.employeeService
-      .searchEmployees(this.currentPage, this.pageSize, this.searchCriteria)
+      .searchEmployees(
+        this.currentPage,
+        this.pageSize,
+        this.searchCriteria,
+        this.displayedColumns.filter((column) => column !== 'actions'),
+        true
+      )
       .subscribe({
         next: (response) => {
           this.dataSource.data = response.content;
           this.totalElements = response.totalElements;
+          if (response.facets) {
+            this.departments = response.facets.departments;
+            this.positions = response.facets.positions;
+            this.salaryRanges = response.facets.salaryRanges;
+          }
           this.loading = false;
         },
         error: (error) => {
@@ -76,46 +92,6 @@ export class EmployeeListComponent implements OnInit {
       });
   }
 
-  loadFilters(): void {
-    this.employeeService.getDepartments().subscribe({
-      next: (departments) => {
-        this.departments = departments;
-      },
-      error: (error) => {
-        console.error('Error loading departments:', error);
-        // Fallback data
-        this.departments = [
-          'IT',
-          'HR',
-          'Finance',
-          'Marketing',
-          'Sales',
-          'Operations',
-        ];
-      },
-    });
-
-    this.employeeService.getPositions().subscribe({
-      next: (positions) => {
-        this.positions = positions;
-      },
-      error: (error) => {
-        console.error('Error loading positions:', error);
-        // Fallback data
-        this.positions = [
-          'Software Engineer',
-          'HR Manager',
-          'Financial Analyst',
-          'Marketing Specialist',
-          'Sales Manager',
-          'Operations Manager',
-          'System Administrator',
-          'Frontend Developer',
-        ];
-      },
-    });
-  }
-
   onSearch(): void {
     this.currentPage = 0;
     this.loadEmployees();
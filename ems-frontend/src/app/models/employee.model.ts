@@ -11,6 +11,7 @@ export interface Employee {
   hireDate?: string; // Added hire date
   createdAt?: string;
   updatedAt?: string;
+  version?: number; // Sent back as If-Match when saving changes
 }
 
 export interface EmployeeResponse {
@@ -19,6 +20,48 @@ export interface EmployeeResponse {
   totalPages: number;
   size: number;
   number: number;
+  facets?: EmployeeFacets; // Only when requested
+}
+
+export interface FacetValue {
+  value: string;
+  count: number;
+}
+
+// Matches per filter value; each facet ignores its own filter
+export interface EmployeeFacets {
+  departments: FacetValue[];
+  positions: FacetValue[];
+  salaryRanges: SalaryDistributionBucket[];
+}
+
+export interface GroupStatistics {
+  name: string;
+  count: number;
+  totalSalary: number;
+  averageSalary: number;
+  minSalary: number | null;
+  maxSalary: number | null;
+}
+
+export interface SalaryDistributionBucket {
+  range: string;
+  min: number;
+  max: number | null;
+  count: number;
+}
+
+export interface EmployeeStatistics {
+  totalEmployees: number;
+  totalSalary: number;
+  averageSalary: number;
+  minSalary: number | null;
+  maxSalary: number | null;
+  totalDepartments: number;
+  totalPositions: number;
+  departments: GroupStatistics[];
+  positions: GroupStatistics[];
+  salaryDistribution: SalaryDistributionBucket[];
 }
 
 export interface EmployeeSearchCriteria {
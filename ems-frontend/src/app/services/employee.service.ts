@@ -5,6 +5,7 @@ import {
   Employee,
   EmployeeResponse,
   EmployeeSearchCriteria,
+  EmployeeStatistics,
 } from '../models/employee.model';
 
 @Injectable({
@@ -19,7 +20,9 @@ export class EmployeeService {
   searchEmployees(
     page: number = 0,
     size: number = 10,
-    criteria: EmployeeSearchCriteria = {}
+    criteria: EmployeeSearchCriteria = {},
+    fields?: string[],
+    facets: boolean = false
   ): Observable<EmployeeResponse> {
     let params = new HttpParams()
       .set('page', page.toString())
@@ -40,6 +43,14 @@ export class EmployeeService {
     if (criteria.maxSalary) {
       params = params.set('maxSalary', criteria.maxSalary.toString());
     }
+    // Only these columns are selected and sent, instead of full employees
+    if (fields?.length) {
+      params = params.set('fields', fields.join(','));
+    }
+    // Filter options with their match counts, in the same response as the page
+    if (facets) {
+      params = params.set('facets', 'true');
+    }
 
     return this.http.get<EmployeeResponse>(this.apiUrl, { params });
   }
@@ -52,8 +63,17 @@ export class EmployeeService {
     return this.http.post<Employee>(this.apiUrl, employee);
   }
 
-  updateEmployee(id: number, employee: Employee): Observable<Employee> {
-    return this.http.put<Employee>(`${this.apiUrl}/${id}`, employee);
+  // With the version the form was loaded with, a concurrent change fails with 412 instead of being overwritten
+  updateEmployee(
+    id: number,
+    employee: Employee,
+    version?: number
+  ): Observable<Employee> {
+    const headers: Record<string, string> =
+      version !== undefined ? { 'If-Match': `"${version}"` } : {};
+    return this.http.put<Employee>(`${this.apiUrl}/${id}`, employee, {
+      headers,
+    });
   }
 
   deleteEmployee(id: number): Observable<void> {
@@ -83,12 +103,16 @@ export class EmployeeService {
   getDashboardStats(): Observable<any> {
     return this.http.get<any>(`${this.apiUrl}/stats`);
   }
-  getEmployeeStatistics(): Observable<any> {
-    return this.http.get<any>(`${this.apiUrl}/statistics`);
+  getEmployeeStatistics(): Observable<EmployeeStatistics> {
+    return this.http.get<EmployeeStatistics>(`${this.apiUrl}/stats/summary`);
   }
 
-  emailExists(email: string): Observable<boolean> {
-    return this.http.get<boolean>(`${this.apiUrl}/check-email?email=${email}`);
+  emailExists(email: string, excludeId?: number): Observable<boolean> {
+    let params = new HttpParams().set('email', email);
+    if (excludeId != null) {
+      params = params.set('excludeId', excludeId.toString());
+    }
+    return this.http.get<boolean>(`${this.apiUrl}/check-email`, { params });
   }
 
   // If you want real department count